@@ -0,0 +1,41 @@
+package com.volleyscore.pro2;
+
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+/**
+ * Custom Capacitor plugin exposing native threading diagnostics (see PluginExecutors).
+ * Exposed to JavaScript as "Diagnostics".
+ */
+@CapacitorPlugin(name = "Diagnostics")
+public class DiagnosticsPlugin extends Plugin {
+
+    /**
+     * Main-thread time per subsystem ("voice", "timer", "systemUi", ...).
+     * Pass { reset: true } to start a fresh measurement window.
+     */
+    @PluginMethod
+    public void getThreadMetrics(PluginCall call) {
+        JSObject ret = PluginExecutors.getMetrics();
+        if (call.getBoolean("reset", false)) {
+            PluginExecutors.resetMetrics();
+        }
+        call.resolve(ret);
+    }
+
+    /**
+     * Runs voice processing inline on main (the pre-worker model) for sessions
+     * started while enabled, so before/after main-thread cost can be compared.
+     */
+    @PluginMethod
+    public void setMainThreadBaseline(PluginCall call) {
+        boolean enabled = call.getBoolean("enabled", false);
+        PluginExecutors.setMainThreadBaseline(enabled);
+        JSObject ret = new JSObject();
+        ret.put("enabled", enabled);
+        call.resolve(ret);
+    }
+}
@@ -0,0 +1,236 @@
+package com.volleyscore.pro2;
+
+import android.util.Log;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * On-device cache of AI-interpreted voice commands.
+ *
+ * Key design decisions:
+ * 1. Key = normalized utterance + roster hash, so a roster change never resolves to a stale player id
+ * 2. Bounded LRU in memory (LinkedHashMap in access order), evicts the least recently used phrasing
+ * 3. Persisted as a small JSON file, written on the injected executor — the shared "io" worker
+ *    in the app (never the caller), a direct executor in JVM tests
+ * 4. Entries expire after TTL_MS — both on lookup and when loading from disk
+ * 5. Values are stored as the already-validated intent JSON; this class never interprets them
+ */
+class IntentCache {
+
+    private static final String TAG = "IntentCache";
+
+    private static final String FILE_NAME = "voice_intent_cache.json";
+    static final int MAX_ENTRIES = 256;
+    static final long TTL_MS = 7L * 24 * 60 * 60 * 1000; // 7 days
+
+    private static final class Entry {
+        final String intentJson;
+        final long storedAt;
+
+        Entry(String intentJson, long storedAt) {
+            this.intentJson = intentJson;
+            this.storedAt = storedAt;
+        }
+    }
+
+    private final File file;
+    private final Executor persistExecutor;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    private boolean loaded = false;
+
+    // Metrics
+    private long hits = 0;
+    private long misses = 0;
+    private long expired = 0;
+    private long stores = 0;
+    private long totalLookupNanos = 0;
+
+    /**
+     * @param persistExecutor runs file writes, e.g. PluginExecutors.newHandler("io", ...)::post
+     */
+    IntentCache(File dir, Executor persistExecutor) {
+        this.file = new File(dir, FILE_NAME);
+        this.persistExecutor = persistExecutor;
+    }
+
+    /**
+     * Returns the cached intent JSON, or null on miss/expiry.
+     */
+    synchronized String get(String utterance, String rosterHash) {
+        long start = System.nanoTime();
+        ensureLoaded();
+
+        String key = buildKey(utterance, rosterHash);
+        Entry entry = key != null ? entries.get(key) : null;
+        String result = null;
+
+        if (entry != null && isExpired(entry, currentTimeMillis())) {
+            entries.remove(key);
+            expired++;
+            schedulePersist();
+        } else if (entry != null) {
+            result = entry.intentJson;
+            // The hit moved the entry to most-recent; persist so the order survives a restart
+            schedulePersist();
+        }
+
+        if (result != null) hits++; else misses++;
+        totalLookupNanos += System.nanoTime() - start;
+        return result;
+    }
+
+    synchronized void put(String utterance, String rosterHash, String intentJson) {
+        ensureLoaded();
+        String key = buildKey(utterance, rosterHash);
+        if (key == null || intentJson == null) return;
+
+        entries.put(key, new Entry(intentJson, currentTimeMillis()));
+        stores++;
+        schedulePersist();
+    }
+
+    synchronized void clear() {
+        entries.clear();
+        loaded = true;
+        schedulePersist();
+    }
+
+    synchronized JSONObject getStats() {
+        JSONObject stats = new JSONObject();
+        try {
+            long lookups = hits + misses;
+            stats.put("size", entries.size());
+            stats.put("maxEntries", MAX_ENTRIES);
+            stats.put("hits", hits);
+            stats.put("misses", misses);
+            stats.put("expired", expired);
+            stats.put("stores", stores);
+            stats.put("hitRate", lookups > 0 ? (double) hits / lookups : 0d);
+            stats.put("avgLookupMicros", lookups > 0 ? (totalLookupNanos / lookups) / 1000d : 0d);
+        } catch (Exception e) {
+            Log.w(TAG, "getStats failed: " + e.getMessage());
+        }
+        return stats;
+    }
+
+    // --------------------------------------------------------------------------
+    // KEYS
+    // --------------------------------------------------------------------------
+
+    /**
+     * Lowercase, strip accents and punctuation, collapse whitespace.
+     * "Ponto do Zé, de ataque!" and "ponto do ze de ataque" share one entry.
+     */
+    static String normalize(String utterance) {
+        if (utterance == null) return "";
+        String s = Normalizer.normalize(utterance, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}+", "")
+            .toLowerCase(Locale.ROOT)
+            .replaceAll("[^\\p{L}\\p{N}\\s]", " ")
+            .replaceAll("\\s+", " ")
+            .trim();
+        return s;
+    }
+
+    private static String buildKey(String utterance, String rosterHash) {
+        String normalized = normalize(utterance);
+        if (normalized.isEmpty()) return null;
+        return (rosterHash != null ? rosterHash : "") + "|" + normalized;
+    }
+
+    /**
+     * Wall clock for storedAt/TTL (entries outlive reboots); overridden in tests.
+     */
+    long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    private static boolean isExpired(Entry entry, long now) {
+        return now - entry.storedAt > TTL_MS;
+    }
+
+    // --------------------------------------------------------------------------
+    // PERSISTENCE
+    // --------------------------------------------------------------------------
+
+    private void ensureLoaded() {
+        if (loaded) return;
+        loaded = true;
+        if (!file.exists()) return;
+
+        try (FileInputStream in = new FileInputStream(file)) {
+            byte[] buffer = new byte[(int) file.length()];
+            int read = 0;
+            while (read < buffer.length) {
+                int n = in.read(buffer, read, buffer.length - read);
+                if (n < 0) break;
+                read += n;
+            }
+            JSONArray array = new JSONArray(new String(buffer, 0, read, StandardCharsets.UTF_8));
+            long now = currentTimeMillis();
+            // File is written eldest-first, so re-inserting preserves LRU order
+            for (int i = 0; i < array.length(); i++) {
+                JSONObject item = array.getJSONObject(i);
+                Entry entry = new Entry(item.getString("v"), item.getLong("t"));
+                if (!isExpired(entry, now)) {
+                    entries.put(item.getString("k"), entry);
+                }
+            }
+            Log.i(TAG, "Loaded " + entries.size() + " cached intents");
+        } catch (Exception e) {
+            Log.w(TAG, "Cache file unreadable, starting empty: " + e.getMessage());
+            entries.clear();
+        }
+    }
+
+    private void schedulePersist() {
+        // Snapshot under the lock, write outside of it
+        final JSONArray snapshot = new JSONArray();
+        try {
+            Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<String, Entry> e = it.next();
+                JSONObject item = new JSONObject();
+                item.put("k", e.getKey());
+                item.put("v", e.getValue().intentJson);
+                item.put("t", e.getValue().storedAt);
+                snapshot.put(item);
+            }
+        } catch (Exception e) {
+            Log.w(TAG, "Snapshot failed: " + e.getMessage());
+            return;
+        }
+
+        persistExecutor.execute(() -> {
+            File tmp = new File(file.getPath() + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(tmp)) {
+                out.write(snapshot.toString().getBytes(StandardCharsets.UTF_8));
+                out.getFD().sync();
+            } catch (Exception e) {
+                Log.w(TAG, "Persist failed: " + e.getMessage());
+                return;
+            }
+            if (!tmp.renameTo(file)) {
+                Log.w(TAG, "Persist rename failed");
+            }
+        });
+    }
+}
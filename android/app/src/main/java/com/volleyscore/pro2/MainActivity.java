@@ -4,8 +4,6 @@ import android.content.Intent;
 import android.graphics.Color;
 import android.os.Build;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
 import android.view.Window;
 import android.view.WindowManager;
@@ -18,7 +16,7 @@ import com.getcapacitor.BridgeActivity;
 public class MainActivity extends BridgeActivity {
     // Global state for immersive mode (accessed by plugin and onWindowFocusChanged)
     private static boolean sImmersiveModeEnabled = false;
-    private Handler handler = new Handler(Looper.getMainLooper());
+    private static final String SUBSYSTEM = "systemUi";
     private Runnable hideRunnable = null;
 
     /**
@@ -34,6 +32,9 @@ public class MainActivity extends BridgeActivity {
         // CRITICAL: Register plugins BEFORE super.onCreate() for Capacitor 4+
         registerPlugin(SystemUiPlugin.class);
         registerPlugin(VoiceRecognitionPlugin.class);
+        registerPlugin(MatchTimerPlugin.class);
+        registerPlugin(TeamBalancerPlugin.class);
+        registerPlugin(DiagnosticsPlugin.class);
         
         super.onCreate(savedInstanceState);
 
@@ -90,11 +91,11 @@ public class MainActivity extends BridgeActivity {
         if (sImmersiveModeEnabled && hasFocus) {
             // When gaining focus AND in immersive mode, re-hide bars
             // Larger delay to ensure system has stabilized
+            // Window insets APIs are main-thread only; postMainDelayed also times the work
             if (hideRunnable != null) {
-                handler.removeCallbacks(hideRunnable);
+                PluginExecutors.removeMain(hideRunnable);
             }
-            hideRunnable = () -> hideSystemBars();
-            handler.postDelayed(hideRunnable, 100);
+            hideRunnable = PluginExecutors.postMainDelayed(SUBSYSTEM, this::hideSystemBars, 100);
         }
     }
 
@@ -103,7 +104,7 @@ public class MainActivity extends BridgeActivity {
         super.onResume();
         // Re-apply immersive mode when activity is resumed
         if (sImmersiveModeEnabled) {
-            handler.postDelayed(() -> hideSystemBars(), 100);
+            PluginExecutors.postMainDelayed(SUBSYSTEM, this::hideSystemBars, 100);
         }
     }
 
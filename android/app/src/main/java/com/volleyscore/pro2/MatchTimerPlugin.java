@@ -0,0 +1,422 @@
+package com.volleyscore.pro2;
+
+import android.os.Handler;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Custom Capacitor plugin owning the match clock and timeout countdowns.
+ * Exposed to JavaScript as "MatchTimer".
+ *
+ * Key design decisions:
+ * 1. All time is derived from SystemClock.elapsedRealtime() — monotonic, keeps counting while
+ *    the WebView is throttled or the activity is paused, so displayed time never drifts
+ * 2. ONE scheduler thread (PluginExecutors "timer") owns all state; plugin methods only post to it
+ * 3. Ticks are coalesced: a single "tick" event carries the clock AND every countdown,
+ *    at a caller-chosen interval (1000ms default, ~16ms while a countdown is on screen)
+ * 4. Each tick lands on the next interval boundary of the clock (or of a countdown's remaining
+ *    time), so displayed seconds flip exactly on time after any stop/start and late wakeups
+ *    never accumulate; no ticks at all while idle or while the activity is paused
+ * 5. Countdown expiry uses its own deadline runnable, independent of the tick rate. Handler
+ *    delays run on uptimeMillis, which stops in deep sleep, so expiry runnables are re-armed
+ *    from elapsedRealtime on every tick and on resume — an overdue deadline fires at once
+ */
+@CapacitorPlugin(name = "MatchTimer")
+public class MatchTimerPlugin extends Plugin {
+
+    private static final String TAG = "MatchTimerPlugin";
+
+    // Events
+    private static final String EVENT_TICK = "tick";
+    private static final String EVENT_COUNTDOWN_EXPIRED = "countdownExpired";
+
+    private static final long DEFAULT_TICK_INTERVAL_MS = 1000L;
+    private static final long MIN_TICK_INTERVAL_MS = 16L;
+
+    private static final class Countdown {
+        final String id;
+        final long durationMs;
+        long deadline;          // elapsedRealtime at expiry (valid while running)
+        long remainingAtPause;  // valid while paused
+        boolean paused;
+        Runnable expiryRunnable;
+
+        Countdown(String id, long durationMs) {
+            this.id = id;
+            this.durationMs = durationMs;
+        }
+
+        long remaining(long now) {
+            return paused ? remainingAtPause : Math.max(0L, deadline - now);
+        }
+    }
+
+    // State — owned by the timer thread, never touched elsewhere
+    private final Handler timerHandler = PluginExecutors.newHandler("timer", Process.THREAD_PRIORITY_DEFAULT);
+
+    private boolean clockRunning = false;
+    private long clockAccumulatedMs = 0L;
+    private long clockStartedAt = 0L;
+
+    private final Map<String, Countdown> countdowns = new LinkedHashMap<>();
+
+    private long tickIntervalMs = DEFAULT_TICK_INTERVAL_MS;
+    private long nextTickAt = 0L;   // elapsedRealtime of the scheduled tick
+    private boolean activityPaused = false;
+
+    // Metrics
+    private long wakeups = 0L;
+    private long ticksEmitted = 0L;
+    private long totalDriftMs = 0L;
+    private long maxDriftMs = 0L;
+
+    private final Runnable tickRunnable = this::onTick;
+
+    // --------------------------------------------------------------------------
+    // PLUGIN METHODS — MATCH CLOCK
+    // --------------------------------------------------------------------------
+
+    @PluginMethod
+    public void startClock(PluginCall call) {
+        timerHandler.post(() -> {
+            if (!clockRunning) {
+                clockRunning = true;
+                clockStartedAt = SystemClock.elapsedRealtime();
+                Log.d(TAG, "startClock at " + clockAccumulatedMs + "ms");
+            }
+            restartTicks();
+            call.resolve(buildState(SystemClock.elapsedRealtime()));
+        });
+    }
+
+    @PluginMethod
+    public void stopClock(PluginCall call) {
+        timerHandler.post(() -> {
+            long now = SystemClock.elapsedRealtime();
+            if (clockRunning) {
+                clockAccumulatedMs += now - clockStartedAt;
+                clockRunning = false;
+                Log.d(TAG, "stopClock at " + clockAccumulatedMs + "ms");
+            }
+            restartTicks();
+            call.resolve(buildState(now));
+        });
+    }
+
+    @PluginMethod
+    public void setClock(PluginCall call) {
+        Double seconds = call.getDouble("seconds");
+        if (seconds == null || seconds < 0) {
+            call.reject("Invalid seconds");
+            return;
+        }
+        timerHandler.post(() -> {
+            long now = SystemClock.elapsedRealtime();
+            clockAccumulatedMs = Math.round(seconds * 1000d);
+            clockStartedAt = now;
+            restartTicks();
+            emitTick(now);
+            call.resolve(buildState(now));
+        });
+    }
+
+    @PluginMethod
+    public void resetClock(PluginCall call) {
+        timerHandler.post(() -> {
+            long now = SystemClock.elapsedRealtime();
+            clockRunning = false;
+            clockAccumulatedMs = 0L;
+            restartTicks();
+            emitTick(now);
+            call.resolve(buildState(now));
+        });
+    }
+
+    // --------------------------------------------------------------------------
+    // PLUGIN METHODS — COUNTDOWNS
+    // --------------------------------------------------------------------------
+
+    @PluginMethod
+    public void startCountdown(PluginCall call) {
+        String id = call.getString("id");
+        Double durationMs = call.getDouble("durationMs");
+        if (id == null || durationMs == null || durationMs <= 0) {
+            call.reject("Missing id or invalid durationMs");
+            return;
+        }
+        timerHandler.post(() -> {
+            removeCountdown(id);
+            long now = SystemClock.elapsedRealtime();
+            Countdown countdown = new Countdown(id, Math.round(durationMs));
+            countdown.deadline = now + countdown.durationMs;
+            countdowns.put(id, countdown);
+            scheduleExpiry(countdown, now);
+            Log.d(TAG, "startCountdown " + id + " " + countdown.durationMs + "ms");
+            restartTicks();
+            emitTick(now);
+            call.resolve(buildState(now));
+        });
+    }
+
+    @PluginMethod
+    public void pauseCountdown(PluginCall call) {
+        String id = call.getString("id");
+        timerHandler.post(() -> {
+            long now = SystemClock.elapsedRealtime();
+            Countdown countdown = countdowns.get(id);
+            if (countdown != null && !countdown.paused) {
+                countdown.remainingAtPause = countdown.remaining(now);
+                countdown.paused = true;
+                cancelExpiry(countdown);
+            }
+            restartTicks();
+            emitTick(now);
+            call.resolve(buildState(now));
+        });
+    }
+
+    @PluginMethod
+    public void resumeCountdown(PluginCall call) {
+        String id = call.getString("id");
+        timerHandler.post(() -> {
+            long now = SystemClock.elapsedRealtime();
+            Countdown countdown = countdowns.get(id);
+            if (countdown != null && countdown.paused) {
+                countdown.deadline = now + countdown.remainingAtPause;
+                countdown.paused = false;
+                scheduleExpiry(countdown, now);
+            }
+            restartTicks();
+            emitTick(now);
+            call.resolve(buildState(now));
+        });
+    }
+
+    @PluginMethod
+    public void cancelCountdown(PluginCall call) {
+        String id = call.getString("id");
+        timerHandler.post(() -> {
+            removeCountdown(id);
+            restartTicks();
+            call.resolve(buildState(SystemClock.elapsedRealtime()));
+        });
+    }
+
+    // --------------------------------------------------------------------------
+    // PLUGIN METHODS — TICK RATE / STATE / METRICS
+    // --------------------------------------------------------------------------
+
+    /**
+     * Sets the coalesced tick interval. 1000ms for a plain clock display,
+     * ~16ms only while a sub-second countdown animation is on screen.
+     */
+    @PluginMethod
+    public void setTickRate(PluginCall call) {
+        Double intervalMs = call.getDouble("intervalMs", (double) DEFAULT_TICK_INTERVAL_MS);
+        timerHandler.post(() -> {
+            tickIntervalMs = Math.max(MIN_TICK_INTERVAL_MS, Math.round(intervalMs));
+            restartTicks();
+            call.resolve();
+        });
+    }
+
+    @PluginMethod
+    public void getState(PluginCall call) {
+        timerHandler.post(() -> call.resolve(buildState(SystemClock.elapsedRealtime())));
+    }
+
+    @PluginMethod
+    public void getMetrics(PluginCall call) {
+        timerHandler.post(() -> {
+            JSObject ret = new JSObject();
+            ret.put("wakeups", wakeups);
+            ret.put("ticksEmitted", ticksEmitted);
+            ret.put("avgDriftMs", wakeups > 0 ? (double) totalDriftMs / wakeups : 0d);
+            ret.put("maxDriftMs", maxDriftMs);
+            ret.put("tickIntervalMs", tickIntervalMs);
+            call.resolve(ret);
+        });
+    }
+
+    // --------------------------------------------------------------------------
+    // TICK SCHEDULING (timer thread only)
+    // --------------------------------------------------------------------------
+
+    private boolean hasActiveWork() {
+        if (clockRunning) return true;
+        for (Countdown countdown : countdowns.values()) {
+            if (!countdown.paused) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Recomputes the tick schedule after any state change. Ticks stop entirely when
+     * nothing is running or the activity is paused, so an idle app never wakes up.
+     */
+    private void restartTicks() {
+        timerHandler.removeCallbacks(tickRunnable);
+        if (activityPaused || !hasActiveWork()) return;
+        scheduleNextTick(SystemClock.elapsedRealtime());
+    }
+
+    /**
+     * Next tick = earliest interval boundary among the running clock (clockMs rising
+     * past a multiple of the interval) and running countdowns (remainingMs falling
+     * past one). Derived from state, not from when restartTicks() was called.
+     */
+    private void scheduleNextTick(long now) {
+        long delay = Long.MAX_VALUE;
+        if (clockRunning) {
+            long clockMs = clockAccumulatedMs + (now - clockStartedAt);
+            delay = tickIntervalMs - (clockMs % tickIntervalMs);
+        }
+        for (Countdown countdown : countdowns.values()) {
+            if (countdown.paused) continue;
+            long remainder = countdown.remaining(now) % tickIntervalMs;
+            delay = Math.min(delay, remainder == 0 ? tickIntervalMs : remainder);
+        }
+        if (delay == Long.MAX_VALUE) return;
+
+        nextTickAt = now + delay;
+        timerHandler.postDelayed(tickRunnable, delay);
+    }
+
+    private void onTick() {
+        long now = SystemClock.elapsedRealtime();
+        if (now < nextTickAt) {
+            // Uptime never runs ahead of elapsedRealtime; this only absorbs the ms rounding
+            // between the two clocks, so the tick still lands on (not before) the boundary
+            timerHandler.postDelayed(tickRunnable, nextTickAt - now);
+            return;
+        }
+        long drift = now - nextTickAt;
+        wakeups++;
+        totalDriftMs += drift;
+        if (drift > maxDriftMs) maxDriftMs = drift;
+
+        rescheduleExpiries(now);
+        emitTick(now);
+
+        if (!activityPaused && hasActiveWork()) {
+            scheduleNextTick(now);
+        }
+    }
+
+    // --------------------------------------------------------------------------
+    // COUNTDOWN EXPIRY (timer thread only)
+    // --------------------------------------------------------------------------
+
+    private void scheduleExpiry(Countdown countdown, long now) {
+        cancelExpiry(countdown);
+        countdown.expiryRunnable = () -> {
+            countdown.expiryRunnable = null;
+            if (countdowns.get(countdown.id) != countdown) return;
+            countdowns.remove(countdown.id);
+            Log.d(TAG, "countdownExpired " + countdown.id);
+
+            JSObject data = new JSObject();
+            data.put("id", countdown.id);
+            data.put("durationMs", countdown.durationMs);
+            data.put("lateByMs", SystemClock.elapsedRealtime() - countdown.deadline);
+            notifyListeners(EVENT_COUNTDOWN_EXPIRED, data, true);
+
+            restartTicks();
+        };
+        timerHandler.postDelayed(countdown.expiryRunnable, Math.max(0L, countdown.deadline - now));
+    }
+
+    /**
+     * Re-arms every running countdown's expiry from elapsedRealtime. A postDelayed made
+     * before deep sleep is still counting uptime, so it would fire late by the sleep time.
+     */
+    private void rescheduleExpiries(long now) {
+        for (Countdown countdown : countdowns.values()) {
+            if (!countdown.paused) scheduleExpiry(countdown, now);
+        }
+    }
+
+    private void cancelExpiry(Countdown countdown) {
+        if (countdown.expiryRunnable != null) {
+            timerHandler.removeCallbacks(countdown.expiryRunnable);
+            countdown.expiryRunnable = null;
+        }
+    }
+
+    private void removeCountdown(String id) {
+        Countdown countdown = countdowns.remove(id);
+        if (countdown != null) cancelExpiry(countdown);
+    }
+
+    // --------------------------------------------------------------------------
+    // EVENT EMITTERS
+    // --------------------------------------------------------------------------
+
+    private void emitTick(long now) {
+        ticksEmitted++;
+        notifyListeners(EVENT_TICK, buildState(now));
+    }
+
+    private JSObject buildState(long now) {
+        long clockMs = clockAccumulatedMs + (clockRunning ? now - clockStartedAt : 0L);
+
+        JSArray list = new JSArray();
+        for (Countdown countdown : countdowns.values()) {
+            JSObject item = new JSObject();
+            item.put("id", countdown.id);
+            item.put("remainingMs", countdown.remaining(now));
+            item.put("durationMs", countdown.durationMs);
+            item.put("paused", countdown.paused);
+            list.put(item);
+        }
+
+        JSObject data = new JSObject();
+        data.put("clockMs", clockMs);
+        data.put("clockRunning", clockRunning);
+        data.put("countdowns", list);
+        return data;
+    }
+
+    // --------------------------------------------------------------------------
+    // LIFECYCLE (driven by MainActivity / BridgeActivity)
+    // --------------------------------------------------------------------------
+
+    @Override
+    protected void handleOnPause() {
+        // Time keeps flowing (elapsedRealtime); we only stop waking the JS thread.
+        // Expiry runnables stay scheduled, but their uptime delay stalls in deep sleep;
+        // handleOnResume re-arms them from the elapsedRealtime deadline.
+        timerHandler.post(() -> {
+            activityPaused = true;
+            restartTicks();
+        });
+    }
+
+    @Override
+    protected void handleOnResume() {
+        // Push a corrected snapshot immediately so the UI never shows pre-pause values
+        timerHandler.post(() -> {
+            long now = SystemClock.elapsedRealtime();
+            activityPaused = false;
+            rescheduleExpiries(now);
+            emitTick(now);
+            restartTicks();
+        });
+    }
+
+    @Override
+    protected void handleOnDestroy() {
+        timerHandler.removeCallbacksAndMessages(null);
+    }
+}
@@ -0,0 +1,154 @@
+package com.volleyscore.pro2;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+
+import com.getcapacitor.JSObject;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared execution model for native plugins.
+ *
+ * Thread ownership rules:
+ * 1. Each subsystem ("voice", "timer", "io", ...) gets ONE dedicated HandlerThread, created lazily
+ *    and kept for the process lifetime. State owned by a subsystem is only touched on its thread.
+ *    The caller picks the thread priority: latency-sensitive subsystems (timer, voice) use
+ *    THREAD_PRIORITY_DEFAULT; only deferrable work (io, balance) uses THREAD_PRIORITY_BACKGROUND.
+ * 2. The main Looper is reserved for APIs that require it (SpeechRecognizer, Window/insets).
+ *    Everything else — parsing, JSObject building, logging, notifyListeners — runs on the worker.
+ * 3. Work posted to main through postMain() is timed per subsystem, so the cost each subsystem
+ *    puts on the thread that renders the WebView is observable from JS via
+ *    Diagnostics.getThreadMetrics(). Diagnostics.setMainThreadBaseline() makes participating
+ *    plugins (voice) run their worker-side work inline on main, to measure the "before" cost.
+ * 4. Plugins get their own Handler on the shared Looper (newHandler), so removeCallbacksAndMessages
+ *    on teardown never cancels another plugin's work.
+ */
+final class PluginExecutors {
+
+    private static final Handler MAIN = new Handler(Looper.getMainLooper());
+    private static final Map<String, HandlerThread> THREADS = new HashMap<>();
+    private static final Map<String, MainThreadStats> MAIN_STATS = new HashMap<>();
+
+    private static volatile boolean mainThreadBaseline = false;
+
+    private static final class MainThreadStats {
+        long events;
+        long totalNanos;
+        long maxNanos;
+    }
+
+    private PluginExecutors() {}
+
+    // --------------------------------------------------------------------------
+    // THREADS
+    // --------------------------------------------------------------------------
+
+    /**
+     * @param priority android.os.Process priority; applied when the thread is first created
+     */
+    static synchronized Looper looper(String subsystem, int priority) {
+        HandlerThread thread = THREADS.get(subsystem);
+        if (thread == null) {
+            thread = new HandlerThread("plugin-" + subsystem, priority);
+            thread.start();
+            THREADS.put(subsystem, thread);
+        }
+        return thread.getLooper();
+    }
+
+    /**
+     * New Handler on the subsystem's worker thread.
+     */
+    static Handler newHandler(String subsystem, int priority) {
+        return new Handler(looper(subsystem, priority));
+    }
+
+    // --------------------------------------------------------------------------
+    // MAIN THREAD (timed)
+    // --------------------------------------------------------------------------
+
+    static void postMain(String subsystem, Runnable task) {
+        MAIN.post(timed(subsystem, task));
+    }
+
+    static Runnable postMainDelayed(String subsystem, Runnable task, long delayMs) {
+        Runnable wrapped = timed(subsystem, task);
+        MAIN.postDelayed(wrapped, delayMs);
+        return wrapped;
+    }
+
+    static void removeMain(Runnable wrapped) {
+        MAIN.removeCallbacks(wrapped);
+    }
+
+    /**
+     * Records main-thread time for callbacks the system invokes directly on main
+     * (e.g. RecognitionListener), which never pass through postMain().
+     */
+    static void recordMainTime(String subsystem, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        synchronized (MAIN_STATS) {
+            MainThreadStats stats = MAIN_STATS.get(subsystem);
+            if (stats == null) {
+                stats = new MainThreadStats();
+                MAIN_STATS.put(subsystem, stats);
+            }
+            stats.events++;
+            stats.totalNanos += elapsed;
+            if (elapsed > stats.maxNanos) stats.maxNanos = elapsed;
+        }
+    }
+
+    private static Runnable timed(String subsystem, Runnable task) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                recordMainTime(subsystem, start);
+            }
+        };
+    }
+
+    // --------------------------------------------------------------------------
+    // METRICS
+    // --------------------------------------------------------------------------
+
+    static JSObject getMetrics() {
+        JSObject ret = new JSObject();
+        synchronized (MAIN_STATS) {
+            for (Map.Entry<String, MainThreadStats> e : MAIN_STATS.entrySet()) {
+                MainThreadStats stats = e.getValue();
+                JSObject item = new JSObject();
+                item.put("events", stats.events);
+                item.put("totalMainMs", stats.totalNanos / 1e6);
+                item.put("avgMainMicros", stats.events > 0 ? (stats.totalNanos / stats.events) / 1000d : 0d);
+                item.put("maxMainMicros", stats.maxNanos / 1000d);
+                ret.put(e.getKey(), item);
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Baseline mode: plugins latch this when a session starts and, while set, do
+     * their worker-side processing inline on main (the pre-worker behaviour).
+     */
+    static void setMainThreadBaseline(boolean enabled) {
+        mainThreadBaseline = enabled;
+    }
+
+    static boolean isMainThreadBaseline() {
+        return mainThreadBaseline;
+    }
+
+    static void resetMetrics() {
+        synchronized (MAIN_STATS) {
+            MAIN_STATS.clear();
+        }
+    }
+}
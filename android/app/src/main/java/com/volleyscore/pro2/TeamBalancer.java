@@ -0,0 +1,406 @@
+package com.volleyscore.pro2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Team balancing engine (pure Java — no Android dependencies, runs in JVM unit tests).
+ *
+ * Key design decisions:
+ * 1. Team sizes are fixed up front (capacities) and fixed players are pinned; every move is a
+ *    SWAP of two non-fixed players between teams, so every visited state is feasible
+ * 2. Objective = spread of average skill across scored teams + CATEGORY_WEIGHT * category
+ *    imbalance (role / group), where a difference of 1 per category is free
+ * 3. Scored teams = full-size teams (the ones that actually play); the leftover team is only
+ *    scored when there are fewer than two full teams
+ * 4. Search = greedy seed (same rule as balanceTeamsSnake) + simulated-annealing local search,
+ *    run as independent restarts in parallel on a ForkJoinPool, all bound by one deadline
+ * 5. Stops early when a perfect score (0) is found
+ */
+final class TeamBalancer {
+
+    static final double CATEGORY_WEIGHT = 2.0;
+
+    private static final double EPSILON = 1e-9;
+    private static final double START_TEMPERATURE = 1.0;
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    // --------------------------------------------------------------------------
+    // PROBLEM / RESULT
+    // --------------------------------------------------------------------------
+
+    static final class Problem {
+        final double[] skills;
+        final int[][] categories;   // [category][player] -> value index, -1 = not constrained
+        final int[] fixedTeam;      // -1 = free
+        final int[] capacities;
+        final boolean[] scored;
+
+        /**
+         * @param categoryLabels per category (e.g. role, group), one label per player; null/"" = unconstrained
+         */
+        Problem(double[] skills, List<String[]> categoryLabels, int[] fixedTeam, int[] capacities) {
+            int n = skills.length;
+            if (fixedTeam.length != n) throw new IllegalArgumentException("fixedTeam length mismatch");
+
+            int total = 0;
+            for (int c : capacities) {
+                if (c < 0) throw new IllegalArgumentException("Negative capacity");
+                total += c;
+            }
+            if (total != n) throw new IllegalArgumentException("Capacities sum " + total + " != players " + n);
+
+            int[] pinned = new int[capacities.length];
+            for (int t : fixedTeam) {
+                if (t < -1 || t >= capacities.length) throw new IllegalArgumentException("Invalid fixed team " + t);
+                if (t >= 0 && ++pinned[t] > capacities[t]) {
+                    throw new IllegalArgumentException("Team " + t + " has more fixed players than capacity");
+                }
+            }
+
+            this.skills = skills;
+            this.fixedTeam = fixedTeam;
+            this.capacities = capacities;
+            this.categories = new int[categoryLabels.size()][];
+            for (int c = 0; c < categoryLabels.size(); c++) {
+                String[] labels = categoryLabels.get(c);
+                if (labels.length != n) throw new IllegalArgumentException("Category length mismatch");
+                Map<String, Integer> ids = new HashMap<>();
+                int[] values = new int[n];
+                for (int i = 0; i < n; i++) {
+                    String label = labels[i];
+                    if (label == null || label.isEmpty() || "none".equals(label)) {
+                        values[i] = -1;
+                    } else {
+                        Integer id = ids.get(label);
+                        if (id == null) {
+                            id = ids.size();
+                            ids.put(label, id);
+                        }
+                        values[i] = id;
+                    }
+                }
+                this.categories[c] = values;
+            }
+
+            int maxCapacity = 0;
+            for (int c : capacities) maxCapacity = Math.max(maxCapacity, c);
+            int fullTeams = 0;
+            for (int c : capacities) if (c == maxCapacity && c > 0) fullTeams++;
+            this.scored = new boolean[capacities.length];
+            for (int t = 0; t < capacities.length; t++) {
+                scored[t] = fullTeams >= 2 ? capacities[t] == maxCapacity : capacities[t] > 0;
+            }
+        }
+
+        int size() {
+            return skills.length;
+        }
+
+        int teamCount() {
+            return capacities.length;
+        }
+    }
+
+    static final class Result {
+        final int[] assignment;     // player -> team
+        final double score;
+        final double skillSpread;
+        final int categoryPenalty;
+        final double initialScore;
+        final long iterations;
+        final int restarts;
+        final long elapsedMs;
+
+        Result(int[] assignment, double score, double skillSpread, int categoryPenalty,
+               double initialScore, long iterations, int restarts, long elapsedMs) {
+            this.assignment = assignment;
+            this.score = score;
+            this.skillSpread = skillSpread;
+            this.categoryPenalty = categoryPenalty;
+            this.initialScore = initialScore;
+            this.iterations = iterations;
+            this.restarts = restarts;
+            this.elapsedMs = elapsedMs;
+        }
+    }
+
+    /**
+     * Same rule as balanceTeamsSnake (pool sorted by skill, each player to the lowest total).
+     */
+    static Result greedy(Problem problem) {
+        long start = System.nanoTime();
+        int[] assignment = greedyAssignment(problem);
+        State state = new State(problem, assignment);
+        double score = state.score();
+        return new Result(assignment, score, state.skillSpread(), state.categoryPenalty(),
+            score, 0L, 0, (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    /**
+     * Parallel local search bound by timeBudgetMs. Never worse than greedy().
+     */
+    static Result optimize(Problem problem, long timeBudgetMs, ForkJoinPool pool, long seed) {
+        long start = System.nanoTime();
+        long deadline = start + Math.max(1L, timeBudgetMs) * 1_000_000L;
+
+        int[] seedAssignment = greedyAssignment(problem);
+        State seedState = new State(problem, seedAssignment);
+        double initialScore = seedState.score();
+
+        int workers = Math.max(1, pool.getParallelism());
+        List<Callable<SearchOutcome>> tasks = new ArrayList<>(workers);
+        for (int w = 0; w < workers; w++) {
+            // java.util.Random (not SplittableRandom) — minSdk 23; one instance per worker, never shared
+            final Random rng = new Random(seed + w * 0x9E3779B97F4A7C15L);
+            final boolean shuffleStart = w > 0; // worker 0 refines the greedy seed as-is
+            tasks.add(() -> search(problem, seedAssignment, shuffleStart, rng, deadline));
+        }
+
+        int[] best = seedAssignment;
+        double bestScore = initialScore;
+        long iterations = 0L;
+        for (Future<SearchOutcome> future : pool.invokeAll(tasks)) {
+            SearchOutcome outcome;
+            try {
+                outcome = future.get();
+            } catch (Exception e) {
+                throw new IllegalStateException("Balancing worker failed", e);
+            }
+            iterations += outcome.iterations;
+            if (outcome.score < bestScore - EPSILON) {
+                best = outcome.assignment;
+                bestScore = outcome.score;
+            }
+        }
+
+        State finalState = new State(problem, best);
+        return new Result(best, finalState.score(), finalState.skillSpread(), finalState.categoryPenalty(),
+            initialScore, iterations, workers, (System.nanoTime() - start) / 1_000_000L);
+    }
+
+    // --------------------------------------------------------------------------
+    // SEARCH
+    // --------------------------------------------------------------------------
+
+    private static final class SearchOutcome {
+        final int[] assignment;
+        final double score;
+        final long iterations;
+
+        SearchOutcome(int[] assignment, double score, long iterations) {
+            this.assignment = assignment;
+            this.score = score;
+            this.iterations = iterations;
+        }
+    }
+
+    private static SearchOutcome search(Problem problem, int[] seedAssignment, boolean shuffleStart,
+                                        Random rng, long deadline) {
+        int[] free = freePlayers(problem);
+        State state = new State(problem, seedAssignment.clone());
+        if (shuffleStart) {
+            for (int k = 0; k < free.length * 2; k++) {
+                int a = free[rng.nextInt(free.length)];
+                int b = free[rng.nextInt(free.length)];
+                if (state.assignment[a] != state.assignment[b]) state.swap(a, b);
+            }
+        }
+
+        double current = state.score();
+        double bestScore = current;
+        int[] best = state.assignment.clone();
+        long iterations = 0L;
+
+        if (free.length < 2) return new SearchOutcome(best, bestScore, 0L);
+
+        long start = System.nanoTime();
+        long span = Math.max(1L, deadline - start);
+        double temperature = START_TEMPERATURE;
+
+        while (bestScore > EPSILON) {
+            if ((iterations % DEADLINE_CHECK_INTERVAL) == 0) {
+                long now = System.nanoTime();
+                if (now >= deadline) break;
+                // Linear cooling over the time budget
+                temperature = START_TEMPERATURE * (1.0 - (double) (now - start) / span) + EPSILON;
+            }
+            iterations++;
+
+            int a = free[rng.nextInt(free.length)];
+            int b = free[rng.nextInt(free.length)];
+            if (state.assignment[a] == state.assignment[b]) continue;
+
+            state.swap(a, b);
+            double next = state.score();
+            double delta = next - current;
+            if (delta <= 0 || rng.nextDouble() < Math.exp(-delta / temperature)) {
+                current = next;
+                if (current < bestScore - EPSILON) {
+                    bestScore = current;
+                    System.arraycopy(state.assignment, 0, best, 0, best.length);
+                }
+            } else {
+                state.swap(a, b); // revert
+            }
+        }
+
+        return new SearchOutcome(best, bestScore, iterations);
+    }
+
+    private static int[] freePlayers(Problem problem) {
+        int count = 0;
+        for (int t : problem.fixedTeam) if (t < 0) count++;
+        int[] free = new int[count];
+        int k = 0;
+        for (int i = 0; i < problem.size(); i++) if (problem.fixedTeam[i] < 0) free[k++] = i;
+        return free;
+    }
+
+    private static int[] greedyAssignment(Problem problem) {
+        int n = problem.size();
+        int teams = problem.teamCount();
+        int[] assignment = new int[n];
+        int[] sizes = new int[teams];
+        double[] totals = new double[teams];
+
+        for (int i = 0; i < n; i++) {
+            int t = problem.fixedTeam[i];
+            assignment[i] = t;
+            if (t >= 0) {
+                sizes[t]++;
+                totals[t] += problem.skills[i];
+            }
+        }
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (x, y) -> Double.compare(problem.skills[y], problem.skills[x]));
+
+        for (int idx : order) {
+            if (problem.fixedTeam[idx] >= 0) continue;
+            // Scored (full) teams are filled first, as in balanceTeamsSnake
+            int target = lowestOpenTeam(problem, sizes, totals, true);
+            if (target < 0) target = lowestOpenTeam(problem, sizes, totals, false);
+            assignment[idx] = target;
+            sizes[target]++;
+            totals[target] += problem.skills[idx];
+        }
+        return assignment;
+    }
+
+    private static int lowestOpenTeam(Problem problem, int[] sizes, double[] totals, boolean scoredOnly) {
+        int best = -1;
+        for (int t = 0; t < problem.teamCount(); t++) {
+            if (sizes[t] >= problem.capacities[t]) continue;
+            if (scoredOnly && !problem.scored[t]) continue;
+            if (best < 0 || totals[t] < totals[best]) best = t;
+        }
+        return best;
+    }
+
+    // --------------------------------------------------------------------------
+    // INCREMENTAL STATE
+    // --------------------------------------------------------------------------
+
+    private static final class State {
+        final Problem problem;
+        final int[] assignment;
+        final double[] totals;
+        final int[][][] counts; // [category][team][value]
+
+        State(Problem problem, int[] assignment) {
+            this.problem = problem;
+            this.assignment = assignment;
+            this.totals = new double[problem.teamCount()];
+            this.counts = new int[problem.categories.length][][];
+
+            for (int c = 0; c < problem.categories.length; c++) {
+                int values = 0;
+                for (int v : problem.categories[c]) values = Math.max(values, v + 1);
+                counts[c] = new int[problem.teamCount()][values];
+            }
+            for (int i = 0; i < assignment.length; i++) add(i, assignment[i], 1);
+        }
+
+        private void add(int player, int team, int sign) {
+            totals[team] += sign * problem.skills[player];
+            for (int c = 0; c < problem.categories.length; c++) {
+                int v = problem.categories[c][player];
+                if (v >= 0) counts[c][team][v] += sign;
+            }
+        }
+
+        void swap(int a, int b) {
+            int ta = assignment[a];
+            int tb = assignment[b];
+            add(a, ta, -1);
+            add(b, tb, -1);
+            assignment[a] = tb;
+            assignment[b] = ta;
+            add(a, tb, 1);
+            add(b, ta, 1);
+        }
+
+        double skillSpread() {
+            double min = Double.MAX_VALUE;
+            double max = -Double.MAX_VALUE;
+            for (int t = 0; t < totals.length; t++) {
+                if (!problem.scored[t]) continue;
+                double avg = totals[t] / problem.capacities[t];
+                if (avg < min) min = avg;
+                if (avg > max) max = avg;
+            }
+            return max >= min ? max - min : 0d;
+        }
+
+        int categoryPenalty() {
+            int penalty = 0;
+            for (int[][] category : counts) {
+                int values = category.length > 0 ? category[0].length : 0;
+                for (int v = 0; v < values; v++) {
+                    int min = Integer.MAX_VALUE;
+                    int max = Integer.MIN_VALUE;
+                    for (int t = 0; t < category.length; t++) {
+                        if (!problem.scored[t]) continue;
+                        min = Math.min(min, category[t][v]);
+                        max = Math.max(max, category[t][v]);
+                    }
+                    if (max - min > 1) penalty += max - min - 1;
+                }
+            }
+            return penalty;
+        }
+
+        double score() {
+            return skillSpread() + CATEGORY_WEIGHT * categoryPenalty();
+        }
+    }
+
+    // --------------------------------------------------------------------------
+    // HELPERS
+    // --------------------------------------------------------------------------
+
+    /**
+     * Capacities matching balanceTeamsSnake: floor(n / teamSize) full teams,
+     * the remainder in the next team, any extra teams empty.
+     */
+    static int[] capacitiesFor(int players, int teamSize, int teamCount) {
+        int fullTeams = players / teamSize;
+        int remainder = players % teamSize;
+        int count = Math.max(teamCount, fullTeams + (remainder > 0 ? 1 : 0));
+        int[] capacities = new int[count];
+        for (int t = 0; t < fullTeams; t++) capacities[t] = teamSize;
+        if (remainder > 0) capacities[fullTeams] = remainder;
+        return capacities;
+    }
+
+    private TeamBalancer() {}
+}
@@ -0,0 +1,116 @@
+package com.volleyscore.pro2;
+
+import android.os.Handler;
+import android.os.Process;
+import android.util.Log;
+
+import com.getcapacitor.JSArray;
+import com.getcapacitor.JSObject;
+import com.getcapacitor.Plugin;
+import com.getcapacitor.PluginCall;
+import com.getcapacitor.PluginMethod;
+import com.getcapacitor.annotation.CapacitorPlugin;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Custom Capacitor plugin exposing TeamBalancer to JavaScript as "TeamBalancer".
+ *
+ * Key design decisions:
+ * 1. Parsing and result building run on the "balance" worker — never on main or the bridge thread
+ * 2. The search itself runs on a dedicated ForkJoinPool sized to cores - 1, leaving a core for the UI
+ * 3. Invalid input (capacities vs. players, over-pinned teams) rejects, so JS can fall back to snake
+ */
+@CapacitorPlugin(name = "TeamBalancer")
+public class TeamBalancerPlugin extends Plugin {
+
+    private static final String TAG = "TeamBalancerPlugin";
+
+    private static final long DEFAULT_TIME_BUDGET_MS = 300L;
+    private static final long MAX_TIME_BUDGET_MS = 3000L;
+
+    private static final ForkJoinPool POOL =
+        new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+    private final Handler balanceHandler = PluginExecutors.newHandler("balance", Process.THREAD_PRIORITY_BACKGROUND);
+
+    @PluginMethod
+    public void balance(PluginCall call) {
+        balanceHandler.post(() -> {
+            try {
+                JSArray players = call.getArray("players");
+                JSArray capacitiesArray = call.getArray("capacities");
+                if (players == null || capacitiesArray == null) {
+                    call.reject("Missing players or capacities");
+                    return;
+                }
+
+                int n = players.length();
+                double[] skills = new double[n];
+                String[] roles = new String[n];
+                String[] groups = new String[n];
+                int[] fixedTeam = new int[n];
+                String[] ids = new String[n];
+                for (int i = 0; i < n; i++) {
+                    JSONObject p = players.getJSONObject(i);
+                    ids[i] = p.getString("id");
+                    skills[i] = p.getDouble("skill");
+                    roles[i] = p.optString("role", null);
+                    groups[i] = p.optString("group", null);
+                    fixedTeam[i] = p.optInt("fixedTeam", -1);
+                }
+
+                int[] capacities = new int[capacitiesArray.length()];
+                for (int t = 0; t < capacities.length; t++) {
+                    capacities[t] = capacitiesArray.getInt(t);
+                }
+
+                List<String[]> categories = new ArrayList<>();
+                categories.add(roles);
+                categories.add(groups);
+
+                long budget = Math.min(MAX_TIME_BUDGET_MS,
+                    Math.max(1L, call.getInt("timeBudgetMs", (int) DEFAULT_TIME_BUDGET_MS)));
+                long seed = call.getInt("seed", n);
+
+                TeamBalancer.Problem problem = new TeamBalancer.Problem(skills, categories, fixedTeam, capacities);
+                TeamBalancer.Result result = TeamBalancer.optimize(problem, budget, POOL, seed);
+
+                Log.i(TAG, "balance n=" + n + " teams=" + capacities.length
+                    + " score " + result.initialScore + " -> " + result.score
+                    + " in " + result.elapsedMs + "ms (" + result.iterations + " iterations)");
+
+                call.resolve(buildResult(result, ids, capacities.length));
+            } catch (IllegalArgumentException e) {
+                call.reject("Invalid balance input: " + e.getMessage());
+            } catch (Exception e) {
+                call.reject("Error balancing teams: " + e.getMessage());
+            }
+        });
+    }
+
+    private JSObject buildResult(TeamBalancer.Result result, String[] ids, int teamCount) {
+        List<JSONArray> teams = new ArrayList<>(teamCount);
+        for (int t = 0; t < teamCount; t++) teams.add(new JSONArray());
+        for (int i = 0; i < ids.length; i++) teams.get(result.assignment[i]).put(ids[i]);
+
+        JSArray teamsArray = new JSArray();
+        for (JSONArray team : teams) teamsArray.put(team);
+
+        JSObject ret = new JSObject();
+        ret.put("teams", teamsArray);
+        ret.put("score", result.score);
+        ret.put("skillSpread", result.skillSpread);
+        ret.put("categoryPenalty", result.categoryPenalty);
+        ret.put("initialScore", result.initialScore);
+        ret.put("iterations", result.iterations);
+        ret.put("restarts", result.restarts);
+        ret.put("elapsedMs", result.elapsedMs);
+        return ret;
+    }
+}
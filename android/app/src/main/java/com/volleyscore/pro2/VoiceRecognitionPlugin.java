@@ -3,7 +3,7 @@ package com.volleyscore.pro2;
 import android.content.Intent;
 import android.os.Bundle;
 import android.os.Handler;
-import android.os.Looper;
+import android.os.Process;
 import android.speech.RecognitionListener;
 import android.speech.RecognizerIntent;
 import android.speech.SpeechRecognizer;
@@ -17,6 +17,8 @@ import com.getcapacitor.PluginMethod;
 import com.getcapacitor.annotation.CapacitorPlugin;
 import com.getcapacitor.annotation.Permission;
 
+import org.json.JSONObject;
+
 import java.util.ArrayList;
 
 /**
@@ -28,6 +30,11 @@ import java.util.ArrayList;
  * 3. On results, restart is done via cancel() + startListening() (fast, no cold-start)
  * 4. Only destroy/recreate on ERROR_RECOGNIZER_BUSY or fatal errors
  * 5. All communication is event-based — start() resolves immediately
+ * 6. AI interpretations of final results are cached on-device (see IntentCache)
+ * 7. Threading (see PluginExecutors): only SpeechRecognizer calls run on main; everything
+ *    else — state, error handling, restart scheduling, JSObject building — runs on "voice".
+ *    Main-thread baseline mode (Diagnostics.setMainThreadBaseline) runs all of it inline on
+ *    main instead, as before the worker existed, so main-thread cost can be compared
  */
 @CapacitorPlugin(
     name = "VoiceRecognitionCustom",
@@ -38,6 +45,7 @@ import java.util.ArrayList;
 public class VoiceRecognitionPlugin extends Plugin {
 
     private static final String TAG = "VoiceRecPlugin";
+    private static final String SUBSYSTEM = "voice";
 
     // Events
     private static final String EVENT_PARTIAL_RESULTS = "partialResults";
@@ -53,22 +61,30 @@ public class VoiceRecognitionPlugin extends Plugin {
     private static final long POSSIBLY_DONE_MS   = 5000L;    // 5s of possibly-complete silence
     private static final long MIN_LISTEN_MS       = 30000L;  // listen at least 30s per session
 
-    // State
+    // MAIN-THREAD state — only touched inside PluginExecutors.postMain() or listener callbacks
     private SpeechRecognizer speechRecognizer;
     private RecognitionListener recognitionListener;
+
+    // OWNER-THREAD state — only touched on the owner: voiceHandler, or main in baseline mode
     private boolean isListening = false;
     private boolean continuousMode = false;
     private String currentLocale = "pt-BR";
     private boolean partialResultsEnabled = true;
 
-    // Error tracking
+    // Error tracking (worker)
     private int consecutiveErrors = 0;
     private static final int MAX_CONSECUTIVE_ERRORS = 8;
 
-    // Previous partial results for deduplication
+    // Previous partial results for deduplication (worker)
     private String previousPartialText = "";
 
-    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final Handler voiceHandler = PluginExecutors.newHandler(SUBSYSTEM, Process.THREAD_PRIORITY_DEFAULT);
+
+    // Latched at start() from PluginExecutors.isMainThreadBaseline(); toggle only while stopped
+    private volatile boolean inlineOnMain = false;
+
+    // AI intent cache (lazily created — needs the plugin context)
+    private IntentCache intentCache;
 
     // --------------------------------------------------------------------------
     // PLUGIN METHODS
@@ -80,16 +96,17 @@ public class VoiceRecognitionPlugin extends Plugin {
         boolean partialResults = call.getBoolean("partialResults", true);
         boolean continuous = call.getBoolean("continuous", false);
 
-        this.currentLocale = language;
-        this.partialResultsEnabled = partialResults;
-        this.continuousMode = continuous;
-        this.consecutiveErrors = 0;
-        this.previousPartialText = "";
+        inlineOnMain = PluginExecutors.isMainThreadBaseline();
+
+        postOwned(() -> {
+            this.currentLocale = language;
+            this.partialResultsEnabled = partialResults;
+            this.continuousMode = continuous;
+            this.consecutiveErrors = 0;
+            this.previousPartialText = "";
 
-        Log.i(TAG, "start() language=" + language + " partial=" + partialResults + " continuous=" + continuous);
+            Log.i(TAG, "start() language=" + language + " partial=" + partialResults + " continuous=" + continuous);
 
-        mainHandler.post(() -> {
-            ensureRecognizer();
             beginListening();
         });
 
@@ -98,10 +115,9 @@ public class VoiceRecognitionPlugin extends Plugin {
 
     @PluginMethod
     public void stop(PluginCall call) {
-        Log.i(TAG, "stop()");
-        this.continuousMode = false;
-
-        mainHandler.post(() -> {
+        postOwned(() -> {
+            Log.i(TAG, "stop()");
+            this.continuousMode = false;
             cancelPendingRestarts();
             doStop();
         });
@@ -118,53 +134,146 @@ public class VoiceRecognitionPlugin extends Plugin {
     }
 
     // --------------------------------------------------------------------------
-    // RECOGNIZER LIFECYCLE
+    // INTENT CACHE
+    // --------------------------------------------------------------------------
+
+    @PluginMethod
+    public void lookupIntent(PluginCall call) {
+        String transcript = call.getString("transcript", "");
+        String rosterHash = call.getString("rosterHash", "");
+
+        JSObject ret = new JSObject();
+        String cached = getIntentCache().get(transcript, rosterHash);
+        if (cached != null) {
+            try {
+                ret.put("intent", new JSObject(cached));
+            } catch (Exception e) {
+                Log.w(TAG, "lookupIntent: corrupt entry: " + e.getMessage());
+            }
+        }
+        call.resolve(ret);
+    }
+
+    @PluginMethod
+    public void storeIntent(PluginCall call) {
+        String transcript = call.getString("transcript", "");
+        String rosterHash = call.getString("rosterHash", "");
+        JSObject intent = call.getObject("intent");
+
+        if (intent == null) {
+            call.reject("Missing intent");
+            return;
+        }
+
+        getIntentCache().put(transcript, rosterHash, intent.toString());
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void clearIntentCache(PluginCall call) {
+        getIntentCache().clear();
+        call.resolve();
+    }
+
+    @PluginMethod
+    public void getIntentCacheStats(PluginCall call) {
+        JSONObject stats = getIntentCache().getStats();
+        try {
+            call.resolve(JSObject.fromJSONObject(stats));
+        } catch (Exception e) {
+            call.reject("Error reading cache stats: " + e.getMessage());
+        }
+    }
+
+    private synchronized IntentCache getIntentCache() {
+        if (intentCache == null) {
+            Handler ioHandler = PluginExecutors.newHandler("io", Process.THREAD_PRIORITY_BACKGROUND);
+            intentCache = new IntentCache(getContext().getFilesDir(), ioHandler::post);
+        }
+        return intentCache;
+    }
+
+    // --------------------------------------------------------------------------
+    // RECOGNIZER — MAIN THREAD ONLY
     // --------------------------------------------------------------------------
 
     /**
      * Creates the SpeechRecognizer if it doesn't exist yet.
      * The recognizer is REUSED across sessions — only destroyed on fatal errors.
      */
-    private void ensureRecognizer() {
-        if (speechRecognizer != null) return;
+    private boolean mainEnsureRecognizer() {
+        if (speechRecognizer != null) return true;
 
         if (!SpeechRecognizer.isRecognitionAvailable(getContext())) {
-            Log.e(TAG, "SpeechRecognizer not available");
-            emitError(SpeechRecognizer.ERROR_CLIENT, "NOT_AVAILABLE", false);
-            emitListeningState(false);
-            return;
+            postOwned(() -> {
+                Log.e(TAG, "SpeechRecognizer not available");
+                emitError(SpeechRecognizer.ERROR_CLIENT, "NOT_AVAILABLE", false);
+                emitListeningState(false);
+            });
+            return false;
         }
 
         speechRecognizer = SpeechRecognizer.createSpeechRecognizer(getActivity());
         recognitionListener = createListener();
         speechRecognizer.setRecognitionListener(recognitionListener);
-        Log.i(TAG, "SpeechRecognizer created");
+        postOwned(() -> Log.i(TAG, "SpeechRecognizer created"));
+        return true;
     }
 
-    /**
-     * Starts listening using the current recognizer (no destroy/recreate).
-     */
-    private void beginListening() {
-        if (speechRecognizer == null) {
-            Log.e(TAG, "beginListening: recognizer is null");
-            emitError(SpeechRecognizer.ERROR_CLIENT, "NO_RECOGNIZER", false);
-            emitListeningState(false);
-            return;
+    private void mainStartListening(Intent intent) {
+        if (!mainEnsureRecognizer()) return;
+        try {
+            speechRecognizer.startListening(intent);
+        } catch (Exception e) {
+            postOwned(() -> onStartFailed(e));
         }
+    }
 
+    private void mainCancel() {
+        if (speechRecognizer == null) return;
         try {
-            Intent intent = createRecognizerIntent();
-            previousPartialText = "";
-            speechRecognizer.startListening(intent);
-            Log.d(TAG, "startListening() called");
+            speechRecognizer.cancel();
         } catch (Exception e) {
-            Log.e(TAG, "beginListening failed: " + e.getMessage(), e);
-            emitError(SpeechRecognizer.ERROR_CLIENT, "START_FAILED", continuousMode);
-            if (continuousMode) {
-                scheduleRestart(1000);
-            } else {
-                emitListeningState(false);
-            }
+            postOwned(() -> Log.w(TAG, "cancel() failed: " + e.getMessage()));
+        }
+    }
+
+    private void mainDestroyRecognizer(boolean stopFirst) {
+        if (speechRecognizer == null) return;
+        try {
+            if (stopFirst) speechRecognizer.stopListening();
+        } catch (Exception ignored) {}
+        try {
+            speechRecognizer.cancel();
+            speechRecognizer.destroy();
+        } catch (Exception e) {
+            postOwned(() -> Log.w(TAG, "destroyRecognizer error: " + e.getMessage()));
+        }
+        speechRecognizer = null;
+        recognitionListener = null;
+    }
+
+    // --------------------------------------------------------------------------
+    // RECOGNIZER LIFECYCLE — WORKER THREAD
+    // --------------------------------------------------------------------------
+
+    /**
+     * Starts listening using the current recognizer (created on demand, never recreated).
+     */
+    private void beginListening() {
+        previousPartialText = "";
+        Intent intent = createRecognizerIntent();
+        PluginExecutors.postMain(SUBSYSTEM, () -> mainStartListening(intent));
+        Log.d(TAG, "startListening() posted");
+    }
+
+    private void onStartFailed(Exception e) {
+        Log.e(TAG, "beginListening failed: " + e.getMessage(), e);
+        emitError(SpeechRecognizer.ERROR_CLIENT, "START_FAILED", continuousMode);
+        if (continuousMode) {
+            scheduleRestart(1000);
+        } else {
+            emitListeningState(false);
         }
     }
 
@@ -195,16 +304,9 @@ public class VoiceRecognitionPlugin extends Plugin {
      * No destroy/recreate overhead.
      */
     private void fastRestart() {
-        if (speechRecognizer == null) {
-            ensureRecognizer();
-        }
-        try {
-            speechRecognizer.cancel();
-        } catch (Exception e) {
-            Log.w(TAG, "cancel() before restart failed: " + e.getMessage());
-        }
+        PluginExecutors.postMain(SUBSYSTEM, this::mainCancel);
         // Small delay to let the system breathe between sessions
-        mainHandler.postDelayed(this::beginListening, 150);
+        scheduleRestart(150);
     }
 
     /**
@@ -212,36 +314,19 @@ public class VoiceRecognitionPlugin extends Plugin {
      */
     private void fullRestart(long delayMs) {
         destroyRecognizer();
-        mainHandler.postDelayed(() -> {
-            if (continuousMode) {
-                ensureRecognizer();
-                beginListening();
-            }
-        }, delayMs);
+        scheduleRestart(delayMs);
     }
 
     private void destroyRecognizer() {
         cancelPendingRestarts();
-        if (speechRecognizer != null) {
-            try {
-                speechRecognizer.cancel();
-                speechRecognizer.destroy();
-            } catch (Exception e) {
-                Log.w(TAG, "destroyRecognizer error: " + e.getMessage());
-            }
-            speechRecognizer = null;
-            recognitionListener = null;
-        }
+        PluginExecutors.postMain(SUBSYSTEM, () -> mainDestroyRecognizer(false));
         isListening = false;
     }
 
     private void doStop() {
-        if (speechRecognizer != null) {
-            try {
-                speechRecognizer.stopListening();
-            } catch (Exception ignored) {}
-        }
-        destroyRecognizer();
+        cancelPendingRestarts();
+        PluginExecutors.postMain(SUBSYSTEM, () -> mainDestroyRecognizer(true));
+        isListening = false;
         emitListeningState(false);
     }
 
@@ -249,13 +334,22 @@ public class VoiceRecognitionPlugin extends Plugin {
     // RECOGNITION LISTENER
     // --------------------------------------------------------------------------
 
+    /**
+     * Callbacks arrive on main. Each one only copies what it needs out of the
+     * Bundle and hands off to the worker (or, in baseline mode, does all the work
+     * inline); its main-thread cost is recorded either way.
+     */
     private RecognitionListener createListener() {
         return new RecognitionListener() {
             @Override
             public void onReadyForSpeech(Bundle params) {
-                Log.d(TAG, "onReadyForSpeech");
-                isListening = true;
-                emitListeningState(true);
+                long start = System.nanoTime();
+                dispatch(() -> {
+                    Log.d(TAG, "onReadyForSpeech");
+                    isListening = true;
+                    emitListeningState(true);
+                });
+                PluginExecutors.recordMainTime(SUBSYSTEM, start);
             }
 
             @Override public void onBeginningOfSpeech() {}
@@ -264,47 +358,33 @@ public class VoiceRecognitionPlugin extends Plugin {
 
             @Override
             public void onEndOfSpeech() {
-                Log.d(TAG, "onEndOfSpeech");
                 // Don't emit stopped — wait for onResults or onError
             }
 
             @Override
             public void onError(int error) {
-                Log.w(TAG, "onError: " + error + " (" + getErrorName(error) + ")");
-                handleRecognitionError(error);
+                long start = System.nanoTime();
+                dispatch(() -> {
+                    Log.w(TAG, "onError: " + error + " (" + getErrorName(error) + ")");
+                    handleRecognitionError(error);
+                });
+                PluginExecutors.recordMainTime(SUBSYSTEM, start);
             }
 
             @Override
             public void onResults(Bundle results) {
+                long start = System.nanoTime();
                 ArrayList<String> matches = results.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
-                if (matches != null && !matches.isEmpty()) {
-                    Log.i(TAG, "onResults: " + matches.get(0));
-                    emitFinalResults(matches);
-                }
-
-                // Success resets all error counters
-                consecutiveErrors = 0;
-
-                if (continuousMode) {
-                    // Fast restart on same recognizer — no gap in listening
-                    Log.d(TAG, "Continuous: fast restart");
-                    fastRestart();
-                } else {
-                    isListening = false;
-                    emitListeningState(false);
-                }
+                dispatch(() -> handleFinalResults(matches));
+                PluginExecutors.recordMainTime(SUBSYSTEM, start);
             }
 
             @Override
             public void onPartialResults(Bundle partialResults) {
+                long start = System.nanoTime();
                 ArrayList<String> matches = partialResults.getStringArrayList(SpeechRecognizer.RESULTS_RECOGNITION);
-                if (matches != null && !matches.isEmpty()) {
-                    String text = matches.get(0);
-                    if (!text.equals(previousPartialText)) {
-                        previousPartialText = text;
-                        emitPartialResults(matches);
-                    }
-                }
+                dispatch(() -> handlePartialResults(matches));
+                PluginExecutors.recordMainTime(SUBSYSTEM, start);
             }
 
             @Override
@@ -312,6 +392,35 @@ public class VoiceRecognitionPlugin extends Plugin {
         };
     }
 
+    private void handleFinalResults(ArrayList<String> matches) {
+        if (matches != null && !matches.isEmpty()) {
+            Log.i(TAG, "onResults: " + matches.get(0));
+            emitFinalResults(matches);
+        }
+
+        // Success resets all error counters
+        consecutiveErrors = 0;
+
+        if (continuousMode) {
+            // Fast restart on same recognizer — no gap in listening
+            Log.d(TAG, "Continuous: fast restart");
+            fastRestart();
+        } else {
+            isListening = false;
+            emitListeningState(false);
+        }
+    }
+
+    private void handlePartialResults(ArrayList<String> matches) {
+        if (matches != null && !matches.isEmpty()) {
+            String text = matches.get(0);
+            if (!text.equals(previousPartialText)) {
+                previousPartialText = text;
+                emitPartialResults(matches);
+            }
+        }
+    }
+
     // --------------------------------------------------------------------------
     // ERROR HANDLING
     // --------------------------------------------------------------------------
@@ -388,33 +497,75 @@ public class VoiceRecognitionPlugin extends Plugin {
     }
 
     // --------------------------------------------------------------------------
-    // RESTART SCHEDULING
+    // RESTART SCHEDULING (worker)
     // --------------------------------------------------------------------------
 
     private Runnable pendingRestart = null;
 
     private void scheduleRestart(long delayMs) {
         cancelPendingRestarts();
-        pendingRestart = () -> {
+        Runnable restart = () -> {
             pendingRestart = null;
             if (continuousMode) {
                 Log.i(TAG, "Scheduled restart firing...");
-                ensureRecognizer();
                 beginListening();
             }
         };
-        mainHandler.postDelayed(pendingRestart, delayMs);
+        pendingRestart = postOwnedDelayed(restart, delayMs);
     }
 
     private void cancelPendingRestarts() {
         if (pendingRestart != null) {
-            mainHandler.removeCallbacks(pendingRestart);
+            removeOwned(pendingRestart);
             pendingRestart = null;
         }
     }
 
     // --------------------------------------------------------------------------
-    // EVENT EMITTERS
+    // OWNER THREAD ROUTING
+    // --------------------------------------------------------------------------
+
+    /**
+     * Posts to the owner thread: the "voice" worker, or main (timed) in baseline mode.
+     */
+    private void postOwned(Runnable task) {
+        if (inlineOnMain) {
+            PluginExecutors.postMain(SUBSYSTEM, task);
+        } else {
+            voiceHandler.post(task);
+        }
+    }
+
+    /**
+     * @return the posted runnable, to pass to removeOwned()
+     */
+    private Runnable postOwnedDelayed(Runnable task, long delayMs) {
+        if (inlineOnMain) {
+            return PluginExecutors.postMainDelayed(SUBSYSTEM, task, delayMs);
+        }
+        voiceHandler.postDelayed(task, delayMs);
+        return task;
+    }
+
+    private void removeOwned(Runnable posted) {
+        // Removed from both, so a restart scheduled before a mode switch is still cancelled
+        voiceHandler.removeCallbacks(posted);
+        PluginExecutors.removeMain(posted);
+    }
+
+    /**
+     * From a listener callback (already on main): run inline in baseline mode, else hand off.
+     */
+    private void dispatch(Runnable task) {
+        if (inlineOnMain) {
+            task.run();
+        } else {
+            voiceHandler.post(task);
+        }
+    }
+
+    // --------------------------------------------------------------------------
+    // EVENT EMITTERS (owner thread)
     // --------------------------------------------------------------------------
 
     private void emitListeningState(boolean listening) {
@@ -446,39 +597,39 @@ public class VoiceRecognitionPlugin extends Plugin {
     }
 
     // --------------------------------------------------------------------------
-    // LIFECYCLE
+    // LIFECYCLE (called on main — hand off to the worker immediately)
     // --------------------------------------------------------------------------
 
     @Override
     protected void handleOnPause() {
-        Log.d(TAG, "handleOnPause");
-        cancelPendingRestarts();
-        if (speechRecognizer != null && isListening) {
-            try { speechRecognizer.cancel(); } catch (Exception ignored) {}
-            isListening = false;
-        }
+        postOwned(() -> {
+            Log.d(TAG, "handleOnPause");
+            cancelPendingRestarts();
+            if (isListening) {
+                PluginExecutors.postMain(SUBSYSTEM, this::mainCancel);
+                isListening = false;
+            }
+        });
     }
 
     @Override
     protected void handleOnResume() {
-        Log.d(TAG, "handleOnResume: continuousMode=" + continuousMode);
-        if (continuousMode) {
-            mainHandler.postDelayed(() -> {
-                if (continuousMode) {
-                    Log.i(TAG, "Resuming continuous recognition");
-                    ensureRecognizer();
-                    beginListening();
-                }
-            }, 500);
-        }
+        postOwned(() -> {
+            Log.d(TAG, "handleOnResume: continuousMode=" + continuousMode);
+            if (continuousMode) {
+                Log.i(TAG, "Resuming continuous recognition in 500ms");
+                scheduleRestart(500);
+            }
+        });
     }
 
     @Override
     protected void handleOnDestroy() {
-        Log.d(TAG, "handleOnDestroy");
-        continuousMode = false;
-        cancelPendingRestarts();
-        mainHandler.post(this::destroyRecognizer);
+        postOwned(() -> {
+            Log.d(TAG, "handleOnDestroy");
+            continuousMode = false;
+            destroyRecognizer();
+        });
     }
 
     // --------------------------------------------------------------------------
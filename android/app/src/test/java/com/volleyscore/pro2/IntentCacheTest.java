@@ -0,0 +1,185 @@
+package com.volleyscore.pro2;
+
+import static org.junit.Assert.*;
+
+import org.json.JSONObject;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * JVM tests for IntentCache: key normalization, LRU bound, TTL, persistence and metrics.
+ * Writes run on a direct executor and the clock is pinned, so every check is deterministic.
+ */
+public class IntentCacheTest {
+
+    private static final String ROSTER = "abc123";
+    private static final String INTENT = "{\"type\":\"point\",\"team\":\"A\",\"isNegative\":false}";
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private File dir;
+    private long now;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = tmp.newFolder("cache");
+        now = 1_700_000_000_000L;
+    }
+
+    private IntentCache newCache() {
+        return new IntentCache(dir, Runnable::run) {
+            @Override
+            long currentTimeMillis() {
+                return now;
+            }
+        };
+    }
+
+    private static String phrase(int i) {
+        return "ponto do jogador " + i;
+    }
+
+    // --------------------------------------------------------------------------
+    // KEYS
+    // --------------------------------------------------------------------------
+
+    @Test
+    public void normalize_foldsAccentsCasePunctuationAndSpaces() {
+        assertEquals("ponto do ze de ataque", IntentCache.normalize("Ponto do Zé, de ataque!"));
+        assertEquals(IntentCache.normalize("ponto do ze de ataque"),
+            IntentCache.normalize("  PONTO   do Zé — de ataque. "));
+    }
+
+    @Test
+    public void get_isScopedToRosterHash() {
+        IntentCache cache = newCache();
+        cache.put("Ponto do Zé!", ROSTER, INTENT);
+
+        assertEquals(INTENT, cache.get("ponto do ze", ROSTER));
+        assertNull(cache.get("ponto do ze", "other"));
+    }
+
+    // --------------------------------------------------------------------------
+    // LRU
+    // --------------------------------------------------------------------------
+
+    @Test
+    public void put_evictsLeastRecentlyUsed_pastMaxEntries() {
+        IntentCache cache = newCache();
+        for (int i = 0; i < IntentCache.MAX_ENTRIES; i++) {
+            cache.put(phrase(i), ROSTER, INTENT);
+        }
+        // Touch the eldest so entry 1 becomes least recently used
+        assertNotNull(cache.get(phrase(0), ROSTER));
+
+        cache.put(phrase(IntentCache.MAX_ENTRIES), ROSTER, INTENT);
+
+        assertNull(cache.get(phrase(1), ROSTER));
+        assertNotNull(cache.get(phrase(0), ROSTER));
+        assertNotNull(cache.get(phrase(IntentCache.MAX_ENTRIES), ROSTER));
+    }
+
+    // --------------------------------------------------------------------------
+    // TTL
+    // --------------------------------------------------------------------------
+
+    @Test
+    public void get_missesAndCountsExpired_pastTtl() throws Exception {
+        IntentCache cache = newCache();
+        cache.put(phrase(0), ROSTER, INTENT);
+
+        now += IntentCache.TTL_MS + 1;
+
+        assertNull(cache.get(phrase(0), ROSTER));
+        JSONObject stats = cache.getStats();
+        assertEquals(1, stats.getLong("expired"));
+        assertEquals(1, stats.getLong("misses"));
+        assertEquals(0, stats.getInt("size"));
+    }
+
+    @Test
+    public void load_dropsEntriesPastTtl() {
+        IntentCache cache = newCache();
+        cache.put(phrase(0), ROSTER, INTENT);
+        now += IntentCache.TTL_MS / 2;
+        cache.put(phrase(1), ROSTER, INTENT);
+
+        now += IntentCache.TTL_MS / 2 + 1;
+        IntentCache reloaded = newCache();
+
+        assertNull(reloaded.get(phrase(0), ROSTER));
+        assertEquals(INTENT, reloaded.get(phrase(1), ROSTER));
+    }
+
+    // --------------------------------------------------------------------------
+    // PERSISTENCE
+    // --------------------------------------------------------------------------
+
+    @Test
+    public void reload_restoresEntriesAndLruOrder() {
+        IntentCache cache = newCache();
+        for (int i = 0; i < IntentCache.MAX_ENTRIES; i++) {
+            cache.put(phrase(i), ROSTER, INTENT);
+        }
+        assertNotNull(cache.get(phrase(0), ROSTER));
+
+        IntentCache reloaded = newCache();
+        reloaded.put(phrase(IntentCache.MAX_ENTRIES), ROSTER, INTENT);
+
+        // Entry 1 was least recently used before the restart, so it is the one evicted
+        assertNull(reloaded.get(phrase(1), ROSTER));
+        assertEquals(INTENT, reloaded.get(phrase(0), ROSTER));
+        assertEquals(INTENT, reloaded.get(phrase(2), ROSTER));
+    }
+
+    @Test
+    public void load_startsEmpty_onCorruptFile() throws Exception {
+        try (FileOutputStream out = new FileOutputStream(new File(dir, "voice_intent_cache.json"))) {
+            out.write("{not json".getBytes(StandardCharsets.UTF_8));
+        }
+
+        IntentCache cache = newCache();
+
+        assertNull(cache.get(phrase(0), ROSTER));
+        assertEquals(0, cache.getStats().getInt("size"));
+
+        cache.put(phrase(0), ROSTER, INTENT);
+        assertEquals(INTENT, newCache().get(phrase(0), ROSTER));
+    }
+
+    @Test
+    public void clear_removesPersistedEntries() {
+        IntentCache cache = newCache();
+        cache.put(phrase(0), ROSTER, INTENT);
+        cache.clear();
+
+        assertNull(newCache().get(phrase(0), ROSTER));
+    }
+
+    // --------------------------------------------------------------------------
+    // METRICS
+    // --------------------------------------------------------------------------
+
+    @Test
+    public void getStats_countsHitsMissesAndStores() throws Exception {
+        IntentCache cache = newCache();
+        cache.put(phrase(0), ROSTER, INTENT);
+        cache.get(phrase(0), ROSTER);
+        cache.get(phrase(0), ROSTER);
+        cache.get(phrase(1), ROSTER);
+
+        JSONObject stats = cache.getStats();
+        assertEquals(2, stats.getLong("hits"));
+        assertEquals(1, stats.getLong("misses"));
+        assertEquals(1, stats.getLong("stores"));
+        assertEquals(0, stats.getLong("expired"));
+        assertEquals(2d / 3d, stats.getDouble("hitRate"), 1e-9);
+    }
+}
@@ -0,0 +1,119 @@
+package com.volleyscore.pro2;
+
+import static org.junit.Assert.*;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * JVM tests for TeamBalancer. The deterministic checks run in the unit suite; the
+ * greedy (snake rule) vs. parallel local search table on pickup pools of 12 to 60
+ * players is wall-clock bound, so it only runs on demand via main().
+ */
+public class TeamBalancerBenchmarkTest {
+
+    private static final String[] ROLES = { "setter", "opposite", "hitter", "hitter", "middle", "middle", "libero", "none" };
+    private static final int TEAM_SIZE = 6;
+    private static final long TIME_BUDGET_MS = 200L;
+
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void setUp() {
+        pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        pool.shutdown();
+    }
+
+    private static TeamBalancer.Problem randomProblem(int players, long seed) {
+        Random random = new Random(seed);
+        double[] skills = new double[players];
+        String[] roles = new String[players];
+        int[] fixedTeam = new int[players];
+        for (int i = 0; i < players; i++) {
+            skills[i] = 1 + random.nextInt(10);
+            roles[i] = ROLES[random.nextInt(ROLES.length)];
+            fixedTeam[i] = -1;
+        }
+        // One fixed player on each court
+        fixedTeam[0] = 0;
+        fixedTeam[1] = 1;
+        return new TeamBalancer.Problem(skills, Collections.singletonList(roles), fixedTeam,
+            TeamBalancer.capacitiesFor(players, TEAM_SIZE, 2));
+    }
+
+    @Test
+    public void optimizer_reachesKnownOptimum_whereGreedyStacksSetters() {
+        // Greedy: p0 -> A, p1 -> B, p2 -> A, p3 -> B, p4 -> A, p5 -> B — both setters on A.
+        // Swapping p2 and p3 (equal skill) keeps totals at 6/6 and splits the setters: score 0.
+        TeamBalancer.Problem problem = new TeamBalancer.Problem(
+            new double[] { 3, 3, 2, 2, 1, 1 },
+            Collections.singletonList(new String[] { "setter", null, "setter", null, null, null }),
+            new int[] { -1, -1, -1, -1, -1, -1 },
+            new int[] { 3, 3 });
+
+        TeamBalancer.Result greedy = TeamBalancer.greedy(problem);
+        assertEquals(1, greedy.categoryPenalty);
+        assertEquals(0.0, greedy.skillSpread, 1e-9);
+
+        TeamBalancer.Result optimized = TeamBalancer.optimize(problem, 100L, pool, 1L);
+        assertEquals(0, optimized.categoryPenalty);
+        assertEquals(0.0, optimized.score, 1e-9);
+        assertNotEquals(optimized.assignment[0], optimized.assignment[2]);
+        assertEquals(greedy.score, optimized.initialScore, 1e-9);
+    }
+
+    @Test
+    public void optimizer_respectsFixedPlayersAndCapacities() {
+        TeamBalancer.Problem problem = randomProblem(40, 7L);
+        TeamBalancer.Result result = TeamBalancer.optimize(problem, 50L, pool, 1L);
+
+        int[] sizes = new int[problem.teamCount()];
+        for (int i = 0; i < problem.size(); i++) {
+            sizes[result.assignment[i]]++;
+            if (problem.fixedTeam[i] >= 0) {
+                assertEquals(problem.fixedTeam[i], result.assignment[i]);
+            }
+        }
+        assertArrayEquals(problem.capacities, sizes);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void problem_rejectsOverPinnedTeam() {
+        new TeamBalancer.Problem(new double[] { 5, 5, 5 }, Collections.<String[]>emptyList(),
+            new int[] { 1, 1, -1 }, new int[] { 2, 1 });
+    }
+
+    /**
+     * Benchmark table — not part of the unit suite. Run main() from the IDE.
+     */
+    public static void main(String[] args) {
+        setUp();
+        try {
+            System.out.println(String.format("%7s | %-22s | %-22s | %7s | %10s",
+                "players", "greedy (spread/penalty)", "optimized (spread/pen)", "ms", "iterations"));
+
+            for (int players = 12; players <= 60; players += 6) {
+                TeamBalancer.Problem problem = randomProblem(players, players);
+                TeamBalancer.Result greedy = TeamBalancer.greedy(problem);
+                TeamBalancer.Result optimized = TeamBalancer.optimize(problem, TIME_BUDGET_MS, pool, 42L);
+
+                System.out.println(String.format("%7d | %8.3f (%5.3f / %2d) | %8.3f (%5.3f / %2d) | %7d | %10d",
+                    players,
+                    greedy.score, greedy.skillSpread, greedy.categoryPenalty,
+                    optimized.score, optimized.skillSpread, optimized.categoryPenalty,
+                    optimized.elapsedMs, optimized.iterations));
+            }
+        } finally {
+            tearDown();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 
 import React, { createContext, useContext, useState, useRef, useEffect, useCallback, useMemo } from 'react';
+import { MatchTimer, isNativeMatchTimerAvailable } from '../plugins/MatchTimerPlugin';
 
 // --- Split Context Architecture ---
 
@@ -28,6 +29,8 @@ export const TimerProvider: React.FC<{ children: React.ReactNode }> = ({ childre
   const [isRunning, setIsRunning] = useState(false);
   const intervalRef = useRef<any>(null);
   const secondsRef = useRef(0);
+  // Android: the native MatchTimer owns the clock (monotonic, survives WebView throttling)
+  const isNativeRef = useRef(isNativeMatchTimerAvailable());
 
   // Sync ref with state for non-reactive access
   useEffect(() => {
@@ -38,13 +41,34 @@ export const TimerProvider: React.FC<{ children: React.ReactNode }> = ({ childre
     setSecondsState(prev => prev + 1);
   }, []);
 
+  // Native ticks: only re-render when the displayed second actually changes
+  useEffect(() => {
+    if (!isNativeRef.current) return;
+    const handle = MatchTimer.addListener('tick', ({ clockMs }) => {
+      const s = Math.floor(clockMs / 1000);
+      if (s !== secondsRef.current) {
+        secondsRef.current = s;
+        setSecondsState(s);
+      }
+    });
+    return () => { handle.then(h => h.remove()); };
+  }, []);
+
   const start = useCallback(() => {
+    if (isNativeRef.current) {
+      setIsRunning(true);
+      MatchTimer.startClock().catch(e => console.warn('[Timer] startClock failed:', e));
+      return;
+    }
     if (intervalRef.current) return;
     setIsRunning(true);
     intervalRef.current = setInterval(tick, 1000);
   }, [tick]);
 
   const stop = useCallback(() => {
+    if (isNativeRef.current) {
+      MatchTimer.stopClock().catch(e => console.warn('[Timer] stopClock failed:', e));
+    }
     if (intervalRef.current) {
       clearInterval(intervalRef.current);
       intervalRef.current = null;
@@ -54,11 +78,17 @@ export const TimerProvider: React.FC<{ children: React.ReactNode }> = ({ childre
 
   const reset = useCallback(() => {
     stop();
+    if (isNativeRef.current) {
+      MatchTimer.resetClock().catch(e => console.warn('[Timer] resetClock failed:', e));
+    }
     setSecondsState(0);
     secondsRef.current = 0;
   }, [stop]);
 
   const setSeconds = useCallback((s: number) => {
+    if (isNativeRef.current) {
+      MatchTimer.setClock({ seconds: s }).catch(e => console.warn('[Timer] setClock failed:', e));
+    }
     setSecondsState(s);
     secondsRef.current = s;
   }, []);
@@ -1,18 +1,46 @@
 
 import { useState, useEffect, useRef, useCallback } from 'react';
 import { TeamId } from '@types';
+import { MatchTimer, isNativeMatchTimerAvailable } from '../plugins/MatchTimerPlugin';
+
+const NATIVE_COUNTDOWN_ID = 'timeout';
 
 export const useActiveTimeout = () => {
   const [activeTeam, setActiveTeam] = useState<TeamId | null>(null);
   const [secondsLeft, setSecondsLeft] = useState(0);
   const [isMinimized, setIsMinimized] = useState(false);
   const intervalRef = useRef<ReturnType<typeof setTimeout> | null>(null);
+  // Android: countdown runs on the native MatchTimer (precise expiry, no JS interval)
+  const isNativeRef = useRef(isNativeMatchTimerAvailable());
+
+  useEffect(() => {
+    if (!isNativeRef.current) return;
+    const tickHandle = MatchTimer.addListener('tick', ({ countdowns }) => {
+      const countdown = countdowns.find(c => c.id === NATIVE_COUNTDOWN_ID);
+      if (countdown) setSecondsLeft(Math.ceil(countdown.remainingMs / 1000));
+    });
+    const expiredHandle = MatchTimer.addListener('countdownExpired', ({ id }) => {
+      if (id !== NATIVE_COUNTDOWN_ID) return;
+      setSecondsLeft(0);
+      setActiveTeam(null); // Auto-close
+    });
+    return () => {
+      tickHandle.then(h => h.remove());
+      expiredHandle.then(h => h.remove());
+    };
+  }, []);
 
   const startTimeout = useCallback((teamId: TeamId, duration: number = 30) => {
     setActiveTeam(teamId);
     setSecondsLeft(duration);
     setIsMinimized(false);
-    
+
+    if (isNativeRef.current) {
+      MatchTimer.startCountdown({ id: NATIVE_COUNTDOWN_ID, durationMs: duration * 1000 })
+        .catch(e => console.warn('[Timeout] startCountdown failed:', e));
+      return;
+    }
+
     if (intervalRef.current) clearInterval(intervalRef.current);
     
     intervalRef.current = setInterval(() => {
@@ -28,6 +56,10 @@ export const useActiveTimeout = () => {
   }, []);
 
   const stopTimeout = useCallback(() => {
+    if (isNativeRef.current) {
+      MatchTimer.cancelCountdown({ id: NATIVE_COUNTDOWN_ID })
+        .catch(e => console.warn('[Timeout] cancelCountdown failed:', e));
+    }
     if (intervalRef.current) clearInterval(intervalRef.current);
     setActiveTeam(null);
     setSecondsLeft(0);
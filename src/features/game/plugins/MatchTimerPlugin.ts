@@ -0,0 +1,55 @@
+import { Capacitor, registerPlugin } from '@capacitor/core';
+import type { Plugin, PluginListenerHandle } from '@capacitor/core';
+
+export interface CountdownState {
+  id: string;
+  remainingMs: number;
+  durationMs: number;
+  paused: boolean;
+}
+
+export interface MatchTimerState {
+  clockMs: number;
+  clockRunning: boolean;
+  countdowns: CountdownState[];
+}
+
+export interface CountdownExpiredEvent {
+  id: string;
+  durationMs: number;
+  lateByMs: number;
+}
+
+export interface MatchTimerMetrics {
+  wakeups: number;
+  ticksEmitted: number;
+  avgDriftMs: number;
+  maxDriftMs: number;
+  tickIntervalMs: number;
+}
+
+export interface MatchTimerPlugin extends Plugin {
+  startClock(): Promise<MatchTimerState>;
+  stopClock(): Promise<MatchTimerState>;
+  setClock(options: { seconds: number }): Promise<MatchTimerState>;
+  resetClock(): Promise<MatchTimerState>;
+
+  startCountdown(options: { id: string; durationMs: number }): Promise<MatchTimerState>;
+  pauseCountdown(options: { id: string }): Promise<MatchTimerState>;
+  resumeCountdown(options: { id: string }): Promise<MatchTimerState>;
+  cancelCountdown(options: { id: string }): Promise<MatchTimerState>;
+
+  setTickRate(options: { intervalMs: number }): Promise<void>;
+  getState(): Promise<MatchTimerState>;
+  getMetrics(): Promise<MatchTimerMetrics>;
+
+  addListener(eventName: 'tick', handler: (event: MatchTimerState) => void): Promise<PluginListenerHandle>;
+  addListener(eventName: 'countdownExpired', handler: (event: CountdownExpiredEvent) => void): Promise<PluginListenerHandle>;
+  removeAllListeners(): Promise<void>;
+}
+
+export const MatchTimer = registerPlugin<MatchTimerPlugin>('MatchTimer');
+
+/** Native clock only exists in the Android shell; web/iOS keep the setInterval path. */
+export const isNativeMatchTimerAvailable = (): boolean =>
+  Capacitor.isNativePlatform() && Capacitor.getPlatform() === 'android';
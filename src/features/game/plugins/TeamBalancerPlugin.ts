@@ -0,0 +1,40 @@
+import { Capacitor, registerPlugin } from '@capacitor/core';
+import type { Plugin } from '@capacitor/core';
+
+export interface BalancePlayerInput {
+  id: string;
+  skill: number;
+  role?: string;
+  group?: string;
+  /** Bucket index the player is pinned to (fixed players). Omit for free players. */
+  fixedTeam?: number;
+}
+
+export interface BalanceOptions {
+  players: BalancePlayerInput[];
+  /** Players per bucket; must sum to players.length. */
+  capacities: number[];
+  timeBudgetMs?: number;
+  seed?: number;
+}
+
+export interface BalanceResult {
+  /** Player ids per bucket, same order as capacities. */
+  teams: string[][];
+  score: number;
+  skillSpread: number;
+  categoryPenalty: number;
+  initialScore: number;
+  iterations: number;
+  restarts: number;
+  elapsedMs: number;
+}
+
+export interface TeamBalancerPlugin extends Plugin {
+  balance(options: BalanceOptions): Promise<BalanceResult>;
+}
+
+export const TeamBalancer = registerPlugin<TeamBalancerPlugin>('TeamBalancer');
+
+export const isNativeTeamBalancerAvailable = (): boolean =>
+  Capacitor.isNativePlatform() && Capacitor.getPlatform() === 'android';
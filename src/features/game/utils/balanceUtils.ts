@@ -2,6 +2,7 @@
 import { Player, Team, RotationReport, TeamColor } from '@types';
 import { COLOR_KEYS } from '@lib/utils/colors';
 import { v4 as uuidv4 } from 'uuid';
+import { TeamBalancer, isNativeTeamBalancerAvailable } from '@features/game/plugins/TeamBalancerPlugin';
 
 // --- HELPER FUNCTIONS ---
 
@@ -118,6 +119,19 @@ export const balanceTeamsSnake = (
         }
     }
 
+    return { ...buildTeamsFromBuckets(buckets, currentCourtA, currentCourtB, currentQueue), logs: logger.get() };
+};
+
+/**
+ * Maps balanced buckets back onto Court A, Court B and the queue,
+ * keeping existing queue identities and assigning unused colors to new teams.
+ */
+const buildTeamsFromBuckets = (
+    buckets: Player[][],
+    currentCourtA: Team,
+    currentCourtB: Team,
+    currentQueue: Team[]
+): { courtA: Team, courtB: Team, queue: Team[] } => {
     const newCourtA = { ...currentCourtA, players: buckets[0] || [] };
     const newCourtB = { ...currentCourtB, players: buckets[1] || [] };
 
@@ -151,7 +165,70 @@ export const balanceTeamsSnake = (
         }
     }
 
-    return { courtA: newCourtA, courtB: newCourtB, queue: newQueue, logs: logger.get() };
+    return { courtA: newCourtA, courtB: newCourtB, queue: newQueue };
+};
+
+/** Below this pool size the snake draft is already optimal enough — skip the native round trip. */
+const NATIVE_BALANCE_MIN_PLAYERS = 12;
+const NATIVE_BALANCE_TIME_BUDGET_MS = 300;
+
+/**
+ * Optimized Balance (Android)
+ * Runs the native TeamBalancer (parallel local search over skill + role constraints),
+ * seeded with the same snake rule. Falls back to balanceTeamsSnake on web, small pools,
+ * or any native rejection (e.g. fixed players exceeding a team's capacity).
+ */
+export const balanceTeamsOptimized = async (
+    allPlayers: Player[],
+    currentCourtA: Team,
+    currentCourtB: Team,
+    currentQueue: Team[],
+    courtLimit: number
+): Promise<{ courtA: Team, courtB: Team, queue: Team[], logs?: string[] }> => {
+    const snake = () => balanceTeamsSnake(allPlayers, currentCourtA, currentCourtB, currentQueue, courtLimit);
+
+    if (!isNativeTeamBalancerAvailable() || allPlayers.length < NATIVE_BALANCE_MIN_PLAYERS) {
+        return snake();
+    }
+
+    const logger = new RotationLogger();
+    const currentStructure = [currentCourtA, currentCourtB, ...currentQueue];
+
+    // Same bucket layout as balanceTeamsSnake: full teams first, remainder in the next bucket
+    const totalCount = allPlayers.length;
+    const numFullTeams = Math.floor(totalCount / courtLimit);
+    const remainder = totalCount % courtLimit;
+    const bucketCount = Math.max(2, Math.ceil(totalCount / courtLimit), currentStructure.length);
+    const capacities = Array.from({ length: bucketCount }, (_, i) =>
+        i < numFullTeams ? courtLimit : (i === numFullTeams ? remainder : 0)
+    );
+
+    const fixedTeamOf = new Map<string, number>();
+    currentStructure.forEach((team, idx) => {
+        team.players.forEach(p => { if (p.isFixed) fixedTeamOf.set(p.id, idx); });
+    });
+
+    try {
+        const result = await TeamBalancer.balance({
+            players: allPlayers.map(p => ({
+                id: p.id,
+                skill: p.skillLevel,
+                ...(p.role && p.role !== 'none' ? { role: p.role } : {}),
+                ...(fixedTeamOf.has(p.id) ? { fixedTeam: fixedTeamOf.get(p.id) } : {}),
+            })),
+            capacities,
+            timeBudgetMs: NATIVE_BALANCE_TIME_BUDGET_MS,
+        });
+
+        const byId = new Map(allPlayers.map(p => [p.id, p]));
+        const buckets = result.teams.map(ids => ids.map(id => byId.get(id)!).filter(Boolean));
+
+        logger.log(`Native Balance. Players: ${totalCount}. Score ${result.initialScore.toFixed(2)} -> ${result.score.toFixed(2)} in ${result.elapsedMs}ms.`);
+        return { ...buildTeamsFromBuckets(buckets, currentCourtA, currentCourtB, currentQueue), logs: logger.get() };
+    } catch (e) {
+        console.warn('[Balance] Native balancer unavailable, using snake:', e);
+        return snake();
+    }
 };
 
 /**
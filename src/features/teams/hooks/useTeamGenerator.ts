@@ -2,7 +2,7 @@ import { useCallback, MutableRefObject, Dispatch } from 'react';
 import { GameState, GameAction, PlayerProfile } from '@types';
 import { getPlayersOnCourtFromConfig } from '@config/gameModes';
 import { createPlayer } from '@features/teams/utils/rosterLogic';
-import { distributeStandard, balanceTeamsSnake } from '@features/game/utils/balanceUtils';
+import { distributeStandard, balanceTeamsOptimized } from '@features/game/utils/balanceUtils';
 
 interface UseTeamGeneratorOptions {
   stateRef: MutableRefObject<GameState>;
@@ -90,7 +90,7 @@ export const useTeamGenerator = ({
   /**
    * Rebalances existing players across teams based on rotation mode.
    */
-  const balanceTeams = useCallback(() => {
+  const balanceTeams = useCallback(async () => {
     const s = stateRef.current;
     const courtLimit = getPlayersOnCourtFromConfig(s.config);
     const allPlayers = [
@@ -101,11 +101,18 @@ export const useTeamGenerator = ({
 
     let result;
     if (s.rotationMode === 'balanced') {
-      result = balanceTeamsSnake(allPlayers, s.teamARoster, s.teamBRoster, s.queue, courtLimit);
+      // Native optimizer on Android (falls back to snake draft elsewhere)
+      result = await balanceTeamsOptimized(allPlayers, s.teamARoster, s.teamBRoster, s.queue, courtLimit);
     } else {
       result = distributeStandard(allPlayers, s.teamARoster, s.teamBRoster, s.queue, courtLimit);
     }
 
+    // Rosters edited while the native balancer was running: drop the stale result
+    const latest = stateRef.current;
+    if (latest.teamARoster !== s.teamARoster || latest.teamBRoster !== s.teamBRoster || latest.queue !== s.queue) {
+      return;
+    }
+
     dispatch({
       type: 'ROSTER_BALANCE',
       courtA: result.courtA,
@@ -25,11 +25,32 @@ export interface RecognitionErrorEvent {
   isRecoverable: boolean;
 }
 
+export interface IntentCacheKey {
+  transcript: string;
+  rosterHash: string;
+}
+
+export interface IntentCacheStats {
+  size: number;
+  maxEntries: number;
+  hits: number;
+  misses: number;
+  expired: number;
+  stores: number;
+  hitRate: number;
+  avgLookupMicros: number;
+}
+
 export interface VoiceRecognitionCustomPlugin extends Plugin {
   start(options: StartOptions): Promise<void>;
   stop(): Promise<void>;
   isAvailable(): Promise<{ available: boolean }>;
 
+  lookupIntent(options: IntentCacheKey): Promise<{ intent?: Record<string, unknown> }>;
+  storeIntent(options: IntentCacheKey & { intent: Record<string, unknown> }): Promise<void>;
+  clearIntentCache(): Promise<void>;
+  getIntentCacheStats(): Promise<IntentCacheStats>;
+
   addListener(eventName: 'partialResults', handler: (event: PartialResultsEvent) => void): Promise<PluginListenerHandle>;
   addListener(eventName: 'finalResults', handler: (event: FinalResultsEvent) => void): Promise<PluginListenerHandle>;
   addListener(eventName: 'listeningState', handler: (event: ListeningStateEvent) => void): Promise<PluginListenerHandle>;
@@ -1,5 +1,7 @@
 
+import { Capacitor } from '@capacitor/core';
 import { Player, TeamId, SkillType, VoiceCommandIntent } from '@types';
+import { VoiceRecognitionCustom } from '../plugins/VoiceRecognitionCustomPlugin';
 
 // Schema defined inline to ensure strict typing with the SDK and remove external dependencies
 // Using JSON Schema literals to avoid bundling @google/genai Type enum (~40KB saved)
@@ -69,19 +71,31 @@ export class GeminiCommandService {
     }
   ): Promise<VoiceCommandIntent | null> {
     try {
+      // 0. On-device cache: repeated phrasings resolve without a network round trip
+      const rosterHash = this.hashRoster(context);
+      const cached = await this.lookupCached(transcript, rosterHash);
+      if (cached) return cached;
+
+      let result: VoiceCommandIntent | null = null;
+
       // SECURITY GATEWAY PATTERN
       // 1. Production Path: Use Proxy if available
       if (this.proxyUrl) {
-        return await this.remoteParse(transcript, context);
+        result = await this.remoteParse(transcript, context);
       }
-
       // 2. Development Path: Use Local SDK if Key is available
-      if (this.apiKey) {
-        return await this.localParse(transcript, context);
+      else if (this.apiKey) {
+        result = await this.localParse(transcript, context);
+      }
+      else {
+        console.warn("[Gemini] AI Service not configured (Missing Proxy URL or API Key)");
+        return null;
       }
 
-      console.warn("[Gemini] AI Service not configured (Missing Proxy URL or API Key)");
-      return null;
+      if (result && result.type !== 'unknown') {
+        this.storeCached(transcript, rosterHash, result);
+      }
+      return result;
 
     } catch (e) {
       console.error("[Gemini] Service Error:", e);
@@ -116,6 +130,60 @@ export class GeminiCommandService {
     };
   }
 
+  // -----------------------------------------------------------------------
+  // NATIVE INTENT CACHE (Android only — no-op elsewhere)
+  // -----------------------------------------------------------------------
+
+  /**
+   * FNV-1a over team names and roster, so cached player ids are never
+   * reused after a substitution or roster edit.
+   */
+  private hashRoster(context: { teamAName: string; teamBName: string; playersA: Player[]; playersB: Player[] }): string {
+    const parts = [
+      context.teamAName,
+      ...context.playersA.map(p => `${p.id}:${p.name}:${p.number ?? ''}`),
+      '|',
+      context.teamBName,
+      ...context.playersB.map(p => `${p.id}:${p.name}:${p.number ?? ''}`),
+    ].join(';');
+
+    let hash = 0x811c9dc5;
+    for (let i = 0; i < parts.length; i++) {
+      hash ^= parts.charCodeAt(i);
+      hash = Math.imul(hash, 0x01000193);
+    }
+    return (hash >>> 0).toString(16);
+  }
+
+  private async lookupCached(transcript: string, rosterHash: string): Promise<VoiceCommandIntent | null> {
+    if (!Capacitor.isNativePlatform()) return null;
+    try {
+      const { intent } = await VoiceRecognitionCustom.lookupIntent({ transcript, rosterHash });
+      if (!intent) return null;
+      const validated = this.validateParsedCommand(intent, transcript);
+      if (validated?.debugMessage) validated.debugMessage = validated.debugMessage.replace('[AI]', '[AI cache]');
+      return validated;
+    } catch {
+      return null;
+    }
+  }
+
+  private storeCached(transcript: string, rosterHash: string, result: VoiceCommandIntent): void {
+    if (!Capacitor.isNativePlatform()) return;
+    // Stored in the raw schema shape so lookups go through the same validation
+    const intent: Record<string, unknown> = {
+      type: result.type,
+      isNegative: result.isNegative ?? false,
+    };
+    if (result.team) intent.team = result.team;
+    if (result.skill) intent.skill = result.skill;
+    if (result.player) {
+      intent.playerId = result.player.id;
+      intent.playerName = result.player.name;
+    }
+    VoiceRecognitionCustom.storeIntent({ transcript, rosterHash, intent }).catch(() => { });
+  }
+
   /**
    * Safe backend call. 
    * The backend should handle authentication and rate limiting.
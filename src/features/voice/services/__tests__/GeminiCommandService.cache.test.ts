@@ -0,0 +1,144 @@
+import { describe, it, expect, beforeEach, vi } from 'vitest';
+import type { Player, VoiceCommandIntent } from '@types';
+
+const { lookupIntent, storeIntent } = vi.hoisted(() => ({
+  lookupIntent: vi.fn(),
+  storeIntent: vi.fn(),
+}));
+
+vi.mock('@capacitor/core', () => ({
+  Capacitor: { isNativePlatform: () => true },
+}));
+
+vi.mock('../../plugins/VoiceRecognitionCustomPlugin', () => ({
+  VoiceRecognitionCustom: { lookupIntent, storeIntent },
+}));
+
+import { GeminiCommandService } from '../GeminiCommandService';
+
+const makePlayer = (id: string, name: string, number?: string): Player => ({
+  id,
+  name,
+  number,
+  skillLevel: 5,
+  isFixed: false,
+  originalIndex: 0,
+});
+
+const makeContext = (playersA: Player[] = [makePlayer('a1', 'Zé', '7')]) => ({
+  teamAName: 'Flamengo',
+  teamBName: 'Vasco',
+  playersA,
+  playersB: [makePlayer('b1', 'Ana', '3')],
+});
+
+describe('GeminiCommandService — cache de intenções', () => {
+  // Private members are exercised directly; the cache contract lives in them
+  let service: any;
+
+  beforeEach(() => {
+    vi.restoreAllMocks();
+    service = GeminiCommandService.getInstance();
+    service.proxyUrl = 'https://proxy.test';
+    lookupIntent.mockReset().mockResolvedValue({});
+    storeIntent.mockReset().mockResolvedValue(undefined);
+  });
+
+  describe('hashRoster', () => {
+    it('deve ser estável para o mesmo elenco', () => {
+      expect(service.hashRoster(makeContext())).toBe(service.hashRoster(makeContext()));
+    });
+
+    it('deve mudar quando o elenco muda', () => {
+      const base = service.hashRoster(makeContext());
+      expect(service.hashRoster(makeContext([makePlayer('a2', 'Zé', '7')]))).not.toBe(base);
+      expect(service.hashRoster(makeContext([makePlayer('a1', 'José', '7')]))).not.toBe(base);
+      expect(service.hashRoster(makeContext([makePlayer('a1', 'Zé', '8')]))).not.toBe(base);
+      expect(service.hashRoster({ ...makeContext(), teamBName: 'Botafogo' })).not.toBe(base);
+    });
+  });
+
+  describe('storeCached', () => {
+    it('deve gravar no formato bruto que validateParsedCommand aceita', () => {
+      const result: VoiceCommandIntent = {
+        type: 'point',
+        team: 'A',
+        player: { id: 'a1', name: 'Zé' },
+        skill: 'attack',
+        isNegative: true,
+        confidence: 0.9,
+        rawText: 'tira ponto do zé de ataque',
+      };
+
+      service.storeCached(result.rawText, 'abc', result);
+
+      expect(storeIntent).toHaveBeenCalledTimes(1);
+      const { intent } = storeIntent.mock.calls[0][0];
+      const restored = service.validateParsedCommand(intent, result.rawText);
+
+      expect(restored).toMatchObject({
+        type: 'point',
+        team: 'A',
+        player: { id: 'a1', name: 'Zé' },
+        skill: 'attack',
+        isNegative: true,
+      });
+    });
+  });
+
+  describe('parseCommand', () => {
+    it('deve responder do cache sem chamada de rede', async () => {
+      lookupIntent.mockResolvedValueOnce({ intent: { type: 'point', team: 'A', isNegative: false } });
+      const remoteParse = vi.spyOn(service, 'remoteParse');
+
+      const result = await service.parseCommand('ponto flamengo', makeContext());
+
+      expect(lookupIntent).toHaveBeenCalledWith({
+        transcript: 'ponto flamengo',
+        rosterHash: service.hashRoster(makeContext()),
+      });
+      expect(remoteParse).not.toHaveBeenCalled();
+      expect(storeIntent).not.toHaveBeenCalled();
+      expect(result).toMatchObject({ type: 'point', team: 'A', isNegative: false });
+      expect(result.debugMessage.startsWith('[AI cache]')).toBe(true);
+    });
+
+    it('deve ignorar intenção inválida no cache e consultar a IA', async () => {
+      lookupIntent.mockResolvedValueOnce({ intent: { type: 'dance', team: 'A', isNegative: false } });
+      expect(service.validateParsedCommand({ type: 'dance', team: 'A', isNegative: false }, 'x')).toBeNull();
+      const remoteParse = vi.spyOn(service, 'remoteParse').mockResolvedValueOnce({
+        type: 'point', team: 'A', isNegative: false, confidence: 0.9, rawText: 'ponto flamengo',
+      });
+
+      const result = await service.parseCommand('ponto flamengo', makeContext());
+
+      expect(remoteParse).toHaveBeenCalledTimes(1);
+      expect(result?.type).toBe('point');
+      expect(storeIntent).toHaveBeenCalledTimes(1);
+    });
+
+    it('não deve gravar resultados "unknown"', async () => {
+      vi.spyOn(service, 'remoteParse').mockResolvedValueOnce({ type: 'unknown', confidence: 0, rawText: 'blá' });
+
+      const result = await service.parseCommand('blá', makeContext());
+
+      expect(result?.type).toBe('unknown');
+      expect(storeIntent).not.toHaveBeenCalled();
+    });
+
+    it('deve gravar resultados reconhecidos', async () => {
+      vi.spyOn(service, 'remoteParse').mockResolvedValueOnce({
+        type: 'timeout', team: 'B', isNegative: false, confidence: 0.9, rawText: 'tempo vasco',
+      });
+
+      await service.parseCommand('tempo vasco', makeContext());
+
+      expect(storeIntent).toHaveBeenCalledTimes(1);
+      expect(storeIntent.mock.calls[0][0]).toMatchObject({
+        transcript: 'tempo vasco',
+        rosterHash: service.hashRoster(makeContext()),
+        intent: { type: 'timeout', team: 'B', isNegative: false },
+      });
+    });
+  });
+});
@@ -0,0 +1,18 @@
+import { registerPlugin } from '@capacitor/core';
+
+/** Main-thread cost per native subsystem ("voice", "timer", "systemUi", ...). */
+export interface MainThreadStats {
+  events: number;
+  totalMainMs: number;
+  avgMainMicros: number;
+  maxMainMicros: number;
+}
+
+// Interface matching DiagnosticsPlugin.java (Android only)
+export interface DiagnosticsPlugin {
+  getThreadMetrics(options?: { reset?: boolean }): Promise<Record<string, MainThreadStats>>;
+  /** Voice sessions started while enabled process results inline on main ("before" measurement). */
+  setMainThreadBaseline(options: { enabled: boolean }): Promise<{ enabled: boolean }>;
+}
+
+export const Diagnostics = registerPlugin<DiagnosticsPlugin>('Diagnostics');